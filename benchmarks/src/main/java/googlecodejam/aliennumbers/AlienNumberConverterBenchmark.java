@@ -0,0 +1,162 @@
+package googlecodejam.aliennumbers;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link AlienNumberConverter#convert(String)} between numeral systems of the same base,
+ * which swaps each letter, of bases that are powers of a common root, which regroups the digits,
+ * and of other bases, which goes through the number's value.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlienNumberConverterBenchmark {
+  
+  /**
+   * The digits of the decimal numeral system that numbers are written in.
+   */
+  private static final String DECIMAL = "0123456789";
+  
+  /**
+   * A converter between two numeral systems of base 10, and a number to convert.
+   */
+  @State(Scope.Benchmark)
+  public static class SameBase {
+    
+    /**
+     * The number of digits in the number being converted.
+     */
+    @Param({ "8", "64", "512" })
+    public int digits;
+    
+    AlienNumberConverter converter;
+    String number;
+    
+    @Setup
+    public void setUp() {
+      converter = new AlienNumberConverter(DECIMAL, "oF8AbcdeG9");
+      number = randomNumber(digits);
+    }
+  }
+  
+  /**
+   * A converter from base 10 to base 2, and a number to convert. Numbers of up to 18 digits are
+   * converted through a {@code long}, and longer ones by divide and conquer.
+   */
+  @State(Scope.Benchmark)
+  public static class MixedBase {
+    
+    /**
+     * The number of digits in the number being converted.
+     */
+    @Param({ "2", "4", "8", "18", "19", "1000", "10000", "100000" })
+    public int digits;
+    
+    AlienNumberConverter converter;
+    String number;
+    
+    @Setup
+    public void setUp() {
+      converter = new AlienNumberConverter(DECIMAL, "01");
+      number = randomNumber(digits);
+    }
+  }
+  
+  /**
+   * A converter from base 8 to base 16, which are both powers of 2, and a number to convert.
+   */
+  @State(Scope.Benchmark)
+  public static class PowerRelatedBase {
+    
+    /**
+     * The number of digits in the number being converted.
+     */
+    @Param({ "8", "1000", "100000" })
+    public int digits;
+    
+    AlienNumberConverter converter;
+    String number;
+    
+    @Setup
+    public void setUp() {
+      converter = new AlienNumberConverter("01234567", "0123456789abcdef");
+      // The decimal digits 8 and 9 are not octal, so they are wrapped around.
+      number = randomNumber(digits).replace('8', '1').replace('9', '2');
+    }
+  }
+  
+  /**
+   * Creates a decimal number with a fixed seed, so that each run converts the same numbers.
+   * 
+   * @param digits The number of digits in the number.
+   * @return A number with the given number of digits and no leading zeroes.
+   */
+  static String randomNumber(int digits) {
+    Random random = new Random(digits);
+    StringBuilder number = new StringBuilder(digits);
+    number.append(DECIMAL.charAt(1 + random.nextInt(DECIMAL.length() - 1)));
+    while (number.length() < digits) {
+      number.append(DECIMAL.charAt(random.nextInt(DECIMAL.length())));
+    }
+    return number.toString();
+  }
+  
+  @Benchmark
+  public String convertSameBase(SameBase state) {
+    return state.converter.convert(state.number);
+  }
+  
+  @Benchmark
+  public String convertMixedBase(MixedBase state) {
+    return state.converter.convert(state.number);
+  }
+  
+  @Benchmark
+  public String convertPowerRelatedBase(PowerRelatedBase state) {
+    return state.converter.convert(state.number);
+  }
+  
+  /**
+   * Converts the same numbers as {@link #convertMixedBase(MixedBase)} one digit at a time, with a
+   * {@code BigInteger} multiply for each digit read and a divide for each digit written, as a
+   * baseline for the divide and conquer conversion.
+   * 
+   * @param state The number to convert.
+   * @return The number in binary.
+   */
+  @Benchmark
+  public String convertMixedBaseDigitByDigit(MixedBase state) {
+    BigInteger ten = BigInteger.TEN;
+    BigInteger value = BigInteger.ZERO;
+    for (int i = 0; i < state.number.length(); i++) {
+      value = value.multiply(ten).add(BigInteger.valueOf(state.number.charAt(i) - '0'));
+    }
+    BigInteger two = BigInteger.valueOf(2);
+    StringBuilder binary = new StringBuilder();
+    do {
+      BigInteger[] halves = value.divideAndRemainder(two);
+      binary.append(halves[1].signum() == 0 ? '0' : '1');
+      value = halves[0];
+    } while (value.signum() != 0);
+    return binary.reverse().toString();
+  }
+}
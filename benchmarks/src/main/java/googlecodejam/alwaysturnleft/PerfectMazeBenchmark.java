@@ -0,0 +1,113 @@
+package googlecodejam.alwaysturnleft;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link CodeJamInputInterpreter#interpret(String)}, which walks the paths of a test case
+ * and builds its maze, and {@link PerfectMaze.Builder#build()} on its own. The mazes are square,
+ * with a single winding corridor through every room.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PerfectMazeBenchmark {
+  
+  /**
+   * The number of rows and columns of the maze. It is odd, so that the corridor ends on the bottom
+   * row.
+   */
+  @Param({ "5", "25", "125" })
+  public int side;
+  /**
+   * Whether the maze is built with the {@code MazeWithWallsConstructorStrategy} or the
+   * {@code MazeWithoutWallsConstructorStrategy}.
+   */
+  @Param({ "true", "false" })
+  public boolean withWalls;
+  
+  private CodeJamInputInterpreter interpreter;
+  private String input;
+  /**
+   * A {@code Builder} that has already walked {@link #input}.
+   */
+  private PerfectMaze.Builder walkedBuilder;
+  
+  @Setup
+  public void setUp() {
+    MazeConstructorStrategy strategy = withWalls ? new MazeWithWallsConstructorStrategy()
+                                                 : new MazeWithoutWallsConstructorStrategy();
+    interpreter = new CodeJamInputInterpreter(strategy);
+    input = serpentine(side, side);
+    walkedBuilder = strategy.createPerfectMazeBuilder();
+    for (String path : input.split(" ")) {
+      for (char letter : path.toCharArray()) {
+        if (letter == 'W') {
+          walkedBuilder.walkForward();
+        } else if (letter == 'L') {
+          walkedBuilder.turnLeft();
+        } else {
+          walkedBuilder.turnRight();
+        }
+      }
+      walkedBuilder.endOfTraversal();
+    }
+  }
+  
+  /**
+   * Creates the input of a maze whose corridor runs down the first column, up the second, and so
+   * on, ending at the bottom of the last column. As the corridor has no branches, the path back is
+   * the path in reverse, with left and right turns swapped.
+   * 
+   * @param rows The number of rows, at least 2.
+   * @param columns The number of columns, which must be odd.
+   * @return Both paths through the maze, separated by a space.
+   */
+  static String serpentine(int rows, int columns) {
+    StringBuilder entrance = new StringBuilder("W");
+    for (int column = 0; column < columns; column++) {
+      for (int row = 1; row < rows; row++) {
+        entrance.append('W');
+      }
+      if (column < columns - 1) {
+        char turn = column % 2 == 0 ? 'L' : 'R';
+        entrance.append(turn).append('W').append(turn);
+      }
+    }
+    entrance.append('W');
+    
+    StringBuilder exit = new StringBuilder(entrance.length());
+    for (int i = entrance.length() - 1; i >= 0; i--) {
+      char letter = entrance.charAt(i);
+      exit.append(letter == 'L' ? 'R' : letter == 'R' ? 'L' : letter);
+    }
+    return entrance + " " + exit;
+  }
+  
+  @Benchmark
+  public PerfectMaze interpret() {
+    return interpreter.interpret(input);
+  }
+  
+  @Benchmark
+  public PerfectMaze build() {
+    return walkedBuilder.build();
+  }
+}
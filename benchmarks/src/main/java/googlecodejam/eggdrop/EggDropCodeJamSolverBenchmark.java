@@ -0,0 +1,163 @@
+package googlecodejam.eggdrop;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the queries of the {@link EggDropCodeJamSolver} with each {@code FMaxStrategy}, and
+ * the construction of the F<sub>max</sub> cache. The floors and breaks span both datasets, as
+ * D<sub>min</sub> grows with the number of floors when few breaks are allowed.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EggDropCodeJamSolverBenchmark {
+  
+  /**
+   * The largest F, D, and B values of the large dataset.
+   */
+  private static final int LARGE_LIMIT = 2_000_000_000;
+  
+  /**
+   * A solver, and a test case to query it with.
+   */
+  @State(Scope.Benchmark)
+  public static class Query {
+    
+    /**
+     * The number of floors in the building.
+     */
+    @Param({ "100", "1000000", "2000000000" })
+    public int floors;
+    /**
+     * The number of breaks allowed.
+     */
+    @Param({ "2", "3", "32" })
+    public int breaks;
+    /**
+     * Whether F<sub>max</sub> values are found with a {@code CachedFMaxStrategy} or a
+     * {@code BinomialFMaxStrategy}.
+     */
+    @Param({ "cached", "binomial" })
+    public String strategy;
+    
+    EggDropCodeJamSolver solver;
+    /**
+     * The number of drops that {@code floors} floors need with {@code breaks} breaks, which is the
+     * drops given to the F<sub>max</sub> and B<sub>min</sub> queries.
+     */
+    int drops;
+    
+    @Setup
+    public void setUp() {
+      solver = new EggDropCodeJamSolver(strategy.equals("binomial") ? new BinomialFMaxStrategy()
+                                                                    : new CachedFMaxStrategy());
+      drops = solver.solveForD(floors, LARGE_LIMIT, breaks);
+    }
+  }
+  
+  /**
+   * A pool to build a cache for the largest maximum F value on, which shows how the parallel
+   * builder scales with the number of threads.
+   */
+  @State(Scope.Benchmark)
+  public static class Build {
+    
+    /**
+     * The number of threads in the pool.
+     */
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+    
+    ForkJoinPool pool;
+    
+    @Setup
+    public void setUp() {
+      pool = new ForkJoinPool(threads);
+    }
+    
+    @TearDown
+    public void tearDown() {
+      pool.shutdown();
+    }
+  }
+  
+  @Benchmark
+  public long solveForF(Query query) {
+    return query.solver.solveForF(query.drops, query.breaks);
+  }
+  
+  @Benchmark
+  public int solveForD(Query query) {
+    return query.solver.solveForD(query.floors, LARGE_LIMIT, query.breaks);
+  }
+  
+  @Benchmark
+  public int solveForB(Query query) {
+    return query.solver.solveForB(query.floors, query.drops, LARGE_LIMIT);
+  }
+  
+  /**
+   * Benchmarks {@code initializeCache}. The shared cache is only built once per JVM, so this builds
+   * a new cache each time instead.
+   * 
+   * @return The new cache.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 5)
+  @Measurement(iterations = 10)
+  public long[][] initializeCache() {
+    return CachedFMaxStrategy.initializeCache();
+  }
+  
+  /**
+   * Benchmarks {@code initializeCache} for {@link Long#MAX_VALUE} on a single thread, as a baseline
+   * for {@link #initializeLargeCacheInParallel(Build)}.
+   * 
+   * @return The new cache.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 5)
+  @Measurement(iterations = 10)
+  public long[][] initializeLargeCache() {
+    return CachedFMaxStrategy.initializeCache(Long.MAX_VALUE);
+  }
+  
+  /**
+   * Benchmarks the parallel {@code initializeCache} for {@link Long#MAX_VALUE}. Compared with
+   * {@link #initializeLargeCache()}, this shows the speed-up of each number of threads.
+   * 
+   * @param build The pool to build on.
+   * @return The new cache.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 5)
+  @Measurement(iterations = 10)
+  public long[][] initializeLargeCacheInParallel(Build build) {
+    return CachedFMaxStrategy.initializeCache(Long.MAX_VALUE, build.pool);
+  }
+}
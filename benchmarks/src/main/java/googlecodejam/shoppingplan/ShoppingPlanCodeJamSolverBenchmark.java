@@ -0,0 +1,117 @@
+package googlecodejam.shoppingplan;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import googlecodejam.MemoryOutputSink;
+import googlecodejam.SolverOptions;
+
+/**
+ * Benchmarks the {@link ShoppingPlanCodeJamSolver}: splitting a Code Jam into test cases,
+ * parsing and solving a single test case, and solving a whole Code Jam of
+ * {@value #TEST_CASES} test cases. This is in the solver's package so that it can call the
+ * protected solve methods directly.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShoppingPlanCodeJamSolverBenchmark {
+  
+  /**
+   * The number of test cases in a whole Code Jam, the most that the limits allow.
+   */
+  static final int TEST_CASES = 100;
+  
+  /**
+   * The number of items on the shopping list.
+   */
+  @Param({ "5", "15" })
+  public int items;
+  /**
+   * The number of stores.
+   */
+  @Param({ "1", "10", "50" })
+  public int stores;
+  
+  private ShoppingPlanCodeJamSolver solver;
+  private String firstLine;
+  private String testCase;
+  private byte[] codeJam;
+  
+  @Setup
+  public void setUp() {
+    solver = new ShoppingPlanCodeJamSolver();
+    testCase = randomTestCase(new Random(31L * items + stores));
+    firstLine = testCase.substring(0, testCase.indexOf('\n'));
+    StringBuilder input = new StringBuilder().append(TEST_CASES).append('\n');
+    for (int i = 0; i < TEST_CASES; i++) {
+      input.append(testCase);
+    }
+    codeJam = input.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+  
+  /**
+   * Creates a test case in which every store sells every item, at random prices and locations
+   * within the limits of the Code Jam.
+   * 
+   * @param random The source of prices and locations.
+   * @return The lines of the test case, each ending with a new line.
+   */
+  private String randomTestCase(Random random) {
+    StringBuilder builder = new StringBuilder();
+    builder.append(items).append(' ').append(stores).append(' ').append(random.nextInt(1001))
+           .append('\n');
+    for (int item = 0; item < items; item++) {
+      builder.append(item == 0 ? "" : " ").append("item").append(item).append(
+        item % 3 == 0 ? "!" : "");
+    }
+    builder.append('\n');
+    for (int store = 0; store < stores; store++) {
+      builder.append(random.nextInt(2001) - 1000).append(' ').append(random.nextInt(2001) - 1000);
+      for (int item = 0; item < items; item++) {
+        builder.append(" item").append(item).append(':').append(1 + random.nextInt(1000));
+      }
+      builder.append('\n');
+    }
+    return builder.toString();
+  }
+  
+  @Benchmark
+  public int linesInTestCase() {
+    return solver.linesInTestCase(firstLine);
+  }
+  
+  @Benchmark
+  public String solveTestCase() throws IOException {
+    return solver.solve(new Scanner(testCase));
+  }
+  
+  @Benchmark
+  public String solveCodeJam() throws IOException {
+    MemoryOutputSink out = new MemoryOutputSink();
+    solver.go(SolverOptions.builder().input(new ByteArrayInputStream(codeJam)).output(out).build());
+    return out.getContents();
+  }
+}
@@ -0,0 +1,323 @@
+package googlecodejam;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.CharBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An {@code AsyncOutputSink} performs the I/O of another {@code OutputSink} on a background
+ * thread. Appended characters are copied into fixed-size chunks; a full chunk is handed to the
+ * background thread through a bounded queue, and the thread returns each chunk to a pool once it
+ * has been written. After start-up, appending does not allocate, and only waits if the background
+ * thread has fallen a full queue behind.
+ * <p>
+ * If the wrapped sink fails, the failure is reported by the next call to {@link #append},
+ * {@link #flush()}, or {@link #close()}.
+ * <p>
+ * An {@code AsyncOutputSink} must only be appended to by one thread at a time.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+final class AsyncOutputSink implements OutputSink {
+  
+  /**
+   * The number of characters in each chunk.
+   */
+  private static final int CHUNK_SIZE = 1 << 13;
+  
+  /**
+   * A chunk of characters waiting to be written.
+   * 
+   * @author Scotty Boutin
+   * @version 1.0.0
+   */
+  private static final class Chunk {
+    
+    /**
+     * The characters of this chunk.
+     */
+    final char[] chars;
+    /**
+     * The number of characters in use.
+     */
+    int length;
+    
+    /**
+     * Creates an empty chunk with the given capacity.
+     * 
+     * @param capacity The number of characters the chunk can hold.
+     */
+    Chunk(int capacity) {
+      chars = new char[capacity];
+    }
+  }
+  
+  /**
+   * Tells the background thread to flush the wrapped sink.
+   */
+  private static final Chunk FLUSH = new Chunk(0);
+  /**
+   * Tells the background thread to stop.
+   */
+  private static final Chunk CLOSE = new Chunk(0);
+  
+  /**
+   * The sink that is written to on the background thread.
+   */
+  private final OutputSink delegate;
+  /**
+   * Full chunks, and commands, waiting for the background thread.
+   */
+  private final BlockingQueue<Chunk> filled;
+  /**
+   * Empty chunks, ready to be filled.
+   */
+  private final BlockingQueue<Chunk> free;
+  /**
+   * Released by the background thread each time it has finished a flush.
+   */
+  private final Semaphore flushed = new Semaphore(0);
+  /**
+   * The background thread.
+   */
+  private final Thread writer;
+  /**
+   * The chunk currently being filled.
+   */
+  private Chunk current;
+  /**
+   * The first failure of the wrapped sink, or {@code null} if it has not failed.
+   */
+  private volatile Throwable failure;
+  /**
+   * Whether this sink has been closed.
+   */
+  private boolean closed;
+  
+  /**
+   * Constructs an {@code AsyncOutputSink} and starts its background thread.
+   * 
+   * @param delegate The sink that is written to on the background thread.
+   * @param queueCapacity The maximum number of full chunks waiting to be written.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   */
+  AsyncOutputSink(OutputSink delegate, int queueCapacity) {
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+    }
+    this.delegate = delegate;
+    // One extra slot so that a command can always follow a full queue of chunks.
+    this.filled = new ArrayBlockingQueue<>(queueCapacity + 1);
+    this.free = new ArrayBlockingQueue<>(queueCapacity + 1);
+    for (int i = 0; i < queueCapacity; i++) {
+      free.add(new Chunk(CHUNK_SIZE));
+    }
+    this.current = new Chunk(CHUNK_SIZE);
+    this.writer = new Thread(this::writeChunks, "codejam-output-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+  
+  @Override
+  public AsyncOutputSink append(CharSequence csq) throws IOException {
+    return append(csq, 0, csq.length());
+  }
+  
+  @Override
+  public AsyncOutputSink append(CharSequence csq, int start, int end) throws IOException {
+    checkOpen();
+    while (start < end) {
+      if (current.length == CHUNK_SIZE) {
+        handOff();
+      }
+      int count = Math.min(end - start, CHUNK_SIZE - current.length);
+      if (csq instanceof String) {
+        ((String) csq).getChars(start, start + count, current.chars, current.length);
+      } else if (csq instanceof StringBuilder) {
+        // Buffered answers of a parallel run.
+        ((StringBuilder) csq).getChars(start, start + count, current.chars, current.length);
+      } else {
+        for (int i = 0; i < count; i++) {
+          current.chars[current.length + i] = csq.charAt(start + i);
+        }
+      }
+      current.length += count;
+      start += count;
+    }
+    return this;
+  }
+  
+  /**
+   * Copies the bytes into chunks as characters, without decoding them into a {@code String} first.
+   */
+  @Override
+  public AsyncOutputSink appendAscii(byte[] bytes, int offset, int length) throws IOException {
+    checkOpen();
+    int end = offset + length;
+    while (offset < end) {
+      if (current.length == CHUNK_SIZE) {
+        handOff();
+      }
+      int count = Math.min(end - offset, CHUNK_SIZE - current.length);
+      char[] chars = current.chars;
+      int start = current.length;
+      for (int i = 0; i < count; i++) {
+        chars[start + i] = (char) (bytes[offset + i] & 0xFF);
+      }
+      current.length += count;
+      offset += count;
+    }
+    return this;
+  }
+  
+  @Override
+  public AsyncOutputSink append(char c) throws IOException {
+    checkOpen();
+    if (current.length == CHUNK_SIZE) {
+      handOff();
+    }
+    current.chars[current.length++] = c;
+    return this;
+  }
+  
+  /**
+   * Hands the current chunk to the background thread, waits until it has been written, and flushes
+   * the wrapped sink.
+   */
+  @Override
+  public void flush() throws IOException {
+    checkOpen();
+    handOff();
+    put(FLUSH);
+    try {
+      flushed.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while flushing output");
+    }
+    checkFailure();
+  }
+  
+  /**
+   * Flushes this sink, stops the background thread, and closes the wrapped sink.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      flush();
+    } finally {
+      closed = true;
+      put(CLOSE);
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      delegate.close();
+    }
+  }
+  
+  /**
+   * Hands the current chunk to the background thread, if it holds any characters, and takes an
+   * empty chunk from the pool.
+   * 
+   * @throws IOException If the wrapped sink has failed, or if this thread is interrupted.
+   */
+  private void handOff() throws IOException {
+    checkFailure();
+    if (current.length == 0) {
+      return;
+    }
+    put(current);
+    try {
+      current = free.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing output");
+    }
+  }
+  
+  /**
+   * Queues a chunk or command for the background thread.
+   * 
+   * @param chunk The chunk or command.
+   * @throws InterruptedIOException If this thread is interrupted while the queue is full.
+   */
+  private void put(Chunk chunk) throws InterruptedIOException {
+    try {
+      filled.put(chunk);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing output");
+    }
+  }
+  
+  /**
+   * The body of the background thread. After the wrapped sink fails, chunks are discarded rather
+   * than written, so that the appending thread is never left waiting.
+   */
+  private void writeChunks() {
+    while (true) {
+      Chunk chunk;
+      try {
+        chunk = filled.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      if (chunk == CLOSE) {
+        return;
+      }
+      try {
+        if (failure == null) {
+          if (chunk == FLUSH) {
+            delegate.flush();
+          } else {
+            delegate.append(CharBuffer.wrap(chunk.chars, 0, chunk.length));
+          }
+        }
+      } catch (Throwable e) {
+        failure = e;
+      }
+      if (chunk == FLUSH) {
+        flushed.release();
+      } else {
+        chunk.length = 0;
+        free.add(chunk);
+      }
+    }
+  }
+  
+  /**
+   * Checks that this sink is open and that the wrapped sink has not failed.
+   * 
+   * @throws IOException If this sink is closed, or the wrapped sink has failed.
+   */
+  private void checkOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Output sink is closed");
+    }
+    checkFailure();
+  }
+  
+  /**
+   * Reports a failure of the wrapped sink.
+   * 
+   * @throws IOException If the wrapped sink has failed.
+   */
+  private void checkFailure() throws IOException {
+    Throwable cause = failure;
+    if (cause instanceof IOException) {
+      throw new IOException(cause.getMessage(), cause);
+    }
+    if (cause != null) {
+      throw new IOException("Writing output failed", cause);
+    }
+  }
+}
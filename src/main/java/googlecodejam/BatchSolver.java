@@ -0,0 +1,252 @@
+package googlecodejam;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@code BatchSolver} solves many input files with a single {@code GoogleCodeJamSolver}, in one
+ * JVM, so that start-up and JIT warm-up are paid once rather than once per file. The files are
+ * solved concurrently, one file per task, on a shared {@code Executor}, and each file's results are
+ * written to its own {@linkplain #outputFileFor(Path) output file} instead of
+ * {@code solution.txt}.
+ * <p>
+ * Because the same solver instance solves several files at once, its solve methods must not modify
+ * state shared between test cases, just as when solving in parallel.
+ * <p>
+ * The {@link #main(String[])} method takes the name of a solver class, which must have a public
+ * no-argument constructor, and a directory or glob of input files, for example:
+ * <p>
+ * {@code java googlecodejam.BatchSolver googlecodejam.eggdrop.EggDropCodeJamSolver inputs/}<br>
+ * {@code java googlecodejam.BatchSolver googlecodejam.eggdrop.EggDropCodeJamSolver "inputs/C-*.in"}
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class BatchSolver {
+  
+  /**
+   * The extension of input files.
+   */
+  public static final String INPUT_EXTENSION = ".in";
+  /**
+   * The extension of output files.
+   */
+  public static final String OUTPUT_EXTENSION = ".out";
+  
+  /**
+   * The solver that solves every file.
+   */
+  private final GoogleCodeJamSolver solver;
+  /**
+   * The {@code Executor} that files are solved on.
+   */
+  private final Executor executor;
+  
+  /**
+   * Constructs a {@code BatchSolver} that solves files with the given solver on the given
+   * {@code Executor}. The {@code Executor} is not shut down by the {@code BatchSolver}.
+   * 
+   * @param solver The solver that solves every file.
+   * @param executor The {@code Executor} that files are solved on.
+   */
+  public BatchSolver(GoogleCodeJamSolver solver, Executor executor) {
+    this.solver = Objects.requireNonNull(solver);
+    this.executor = Objects.requireNonNull(executor);
+  }
+  
+  /**
+   * Solves each input file, writing its results to its output file. Every file is attempted, even
+   * if others fail.
+   * 
+   * @param inputs The input files.
+   * @return The output files, in the same order as the input files.
+   * @throws IOException If any file could not be solved. Each failure is attached as a suppressed
+   *           exception.
+   */
+  public List<Path> solve(List<Path> inputs) throws IOException {
+    List<FutureTask<Path>> tasks = new ArrayList<>(inputs.size());
+    for (Path input : inputs) {
+      FutureTask<Path> task = new FutureTask<>(() -> solve(input));
+      executor.execute(task);
+      tasks.add(task);
+    }
+    List<Path> outputs = new ArrayList<>(inputs.size());
+    IOException failure = null;
+    for (int i = 0; i < tasks.size(); i++) {
+      try {
+        outputs.add(tasks.get(i).get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        tasks.forEach(task -> task.cancel(true));
+        throw new InterruptedIOException("Interrupted while solving input files");
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = new IOException("Could not solve every input file");
+        }
+        failure.addSuppressed(new IOException("Could not solve " + inputs.get(i), e.getCause()));
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return outputs;
+  }
+  
+  /**
+   * Solves a single input file on the current thread, writing its results to its output file.
+   * 
+   * @param input The input file.
+   * @return The output file.
+   * @throws IOException If an I/O error occurs.
+   */
+  public Path solve(Path input) throws IOException {
+    Path output = outputFileFor(input);
+    // Files are already solved concurrently, so each one writes its own output synchronously.
+    solver.go(SolverOptions.builder()
+                           .mappedFile(input)
+                           .output(OutputTarget.FILE)
+                           .outputFile(output)
+                           .asynchronousOutput(false)
+                           .build());
+    return output;
+  }
+  
+  /**
+   * Returns the file that the results of an input file are written to: the input file with its
+   * {@value #INPUT_EXTENSION} extension replaced by {@value #OUTPUT_EXTENSION}, or with
+   * {@value #OUTPUT_EXTENSION} added if it does not have that extension.
+   * 
+   * @param input The input file.
+   * @return The output file, in the same directory as the input file.
+   */
+  public static Path outputFileFor(Path input) {
+    String name = input.getFileName().toString();
+    if (name.endsWith(INPUT_EXTENSION)) {
+      name = name.substring(0, name.length() - INPUT_EXTENSION.length());
+    }
+    return input.resolveSibling(name + OUTPUT_EXTENSION);
+  }
+  
+  /**
+   * Finds the input files named by a directory, a file, or a glob. A directory names every
+   * {@value #INPUT_EXTENSION} file directly inside it. A glob, such as {@code inputs/C-*.in} or
+   * {@code inputs/**.in}, names every file that it matches below the directory before its first
+   * wildcard.
+   * 
+   * @param pattern A directory, a file, or a glob of files.
+   * @return The input files, sorted by path.
+   * @throws IOException If a directory cannot be read.
+   */
+  public static List<Path> findInputs(String pattern) throws IOException {
+    int wildcard = firstWildcard(pattern);
+    if (wildcard == pattern.length()) {
+      Path path = Paths.get(pattern);
+      if (!Files.isDirectory(path)) {
+        return Collections.singletonList(path);
+      }
+      try (Stream<Path> files = Files.list(path)) {
+        return files.filter(file -> file.getFileName().toString().endsWith(INPUT_EXTENSION))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+      }
+    }
+    int separator = Math.max(pattern.lastIndexOf('/', wildcard), pattern.lastIndexOf('\\',
+      wildcard));
+    Path base = Paths.get(separator < 0 ? "." : pattern.substring(0, separator + 1));
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+    try (Stream<Path> files = Files.walk(base)) {
+      return files.filter(Files::isRegularFile)
+                  .filter(file -> matcher.matches(separator < 0 ? base.relativize(file) : file))
+                  .sorted()
+                  .collect(Collectors.toList());
+    }
+  }
+  
+  /**
+   * Returns the index of the first glob wildcard in a pattern.
+   * 
+   * @param glob The pattern.
+   * @return The index of the first wildcard, or the length of the pattern if it has none.
+   */
+  private static int firstWildcard(String glob) {
+    for (int i = 0; i < glob.length(); i++) {
+      if ("*?[{".indexOf(glob.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return glob.length();
+  }
+  
+  /**
+   * Creates an instance of a solver class using its public no-argument constructor. The class is
+   * not initialized until it is known to be a {@code GoogleCodeJamSolver}, so naming any other
+   * class never runs its static initializers.
+   * 
+   * @param className The fully qualified name of the solver class.
+   * @return A new solver.
+   * @throws IllegalArgumentException If the class is not a {@code GoogleCodeJamSolver} with a
+   *           public no-argument constructor.
+   */
+  public static GoogleCodeJamSolver newSolver(String className) {
+    try {
+      Class<? extends GoogleCodeJamSolver> solverClass = Class.forName(className, false,
+        BatchSolver.class.getClassLoader()).asSubclass(GoogleCodeJamSolver.class);
+      return solverClass.getConstructor().newInstance();
+    } catch (ClassNotFoundException | ClassCastException | NoSuchMethodException
+        | InstantiationException | IllegalAccessException e) {
+      throw new IllegalArgumentException("Not a solver with a public no-argument constructor: "
+                                         + className, e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalArgumentException("Could not create " + className, e.getCause());
+    }
+  }
+  
+  /**
+   * Runs the {@code BatchSolver} application.
+   * 
+   * @param args The fully qualified name of the solver class, a directory or glob of input files,
+   *          and optionally the number of files to solve at once, which defaults to the number of
+   *          available processors.
+   * @throws IOException If any file could not be solved.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BatchSolver <solver class> <directory or glob> [threads]");
+      System.exit(2);
+    }
+    GoogleCodeJamSolver solver = newSolver(args[0]);
+    List<Path> inputs = findInputs(args[1]);
+    int threads = args.length > 2 ? Integer.parseInt(args[2])
+                                  : Runtime.getRuntime().availableProcessors();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      long start = System.nanoTime();
+      List<Path> outputs = new BatchSolver(solver, executor).solve(inputs);
+      for (Path output : outputs) {
+        System.out.println(output);
+      }
+      System.out.printf("Solved %d files in %.3f s%n", outputs.size(),
+        (System.nanoTime() - start) / 1e9);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package googlecodejam;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@code ByteSource} supplies the bytes of an input one buffer at a time to a
+ * {@code CodeJamTokenizer}. Each buffer is handed over as-is, so a source that already holds its
+ * input in a {@code ByteBuffer} does not need to copy it.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ * @see CodeJamTokenizer
+ */
+interface ByteSource extends Closeable {
+  
+  /**
+   * Returns a buffer holding the next bytes of input, between its position and its limit. The
+   * caller must be finished with the previously returned buffer before calling this again, as that
+   * buffer may be reused.
+   * 
+   * @return A buffer with at least one remaining byte, or {@code null} if there is no more input.
+   * @throws IOException If an I/O error occurs.
+   */
+  ByteBuffer next() throws IOException;
+  
+  /**
+   * Creates a {@code ByteSource} that reads from an {@code InputStream} into a single reused buffer.
+   * 
+   * @param in The stream being read.
+   * @param bufferSize The size of the buffer, in bytes.
+   * @return A {@code ByteSource} over the stream.
+   */
+  static ByteSource of(InputStream in, int bufferSize) {
+    return new ByteSource() {
+      
+      /**
+       * The array that each read fills.
+       */
+      private final byte[] bytes = new byte[bufferSize];
+      
+      @Override
+      public ByteBuffer next() throws IOException {
+        int read;
+        do {
+          read = in.read(bytes);
+        } while (read == 0);
+        if (read < 0) {
+          return null;
+        }
+        return ByteBuffer.wrap(bytes, 0, read);
+      }
+      
+      @Override
+      public void close() throws IOException {
+        in.close();
+      }
+    };
+  }
+  
+  /**
+   * Creates a {@code ByteSource} over bytes that are already in memory. The array is not copied.
+   * 
+   * @param bytes The input.
+   * @return A {@code ByteSource} that returns the whole array as a single buffer.
+   */
+  static ByteSource of(byte[] bytes) {
+    return new ByteSource() {
+      
+      /**
+       * Whether the array has been handed out yet.
+       */
+      private boolean consumed;
+      
+      @Override
+      public ByteBuffer next() {
+        if (consumed || bytes.length == 0) {
+          return null;
+        }
+        consumed = true;
+        return ByteBuffer.wrap(bytes);
+      }
+      
+      @Override
+      public void close() {
+      }
+    };
+  }
+}
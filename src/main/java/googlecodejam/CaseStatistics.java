@@ -0,0 +1,302 @@
+package googlecodejam;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A {@code CaseStatistics} records how long each test case of a run took to solve, how much input
+ * it read, how much output it produced, and how many bytes the thread solving it allocated. At the
+ * end of the run, the solver prints a {@linkplain #report() summary} to {@code System.err}.
+ * <p>
+ * Recording is enabled by passing an instance to
+ * {@link SolverOptions.Builder#caseStatistics(CaseStatistics)}, or by the
+ * {@value SolverOptions#INSTRUMENT_ARGUMENT} argument. When it is not enabled, the solver does not
+ * measure anything.
+ * <p>
+ * The input of a test case is counted exactly when the solver reads through a
+ * {@code CodeJamTokenizer}, or when solving in parallel. A {@code Scanner} reads ahead of the test
+ * case it is solving, so when solving sequentially through a {@code Scanner}, the input of each
+ * test case is not known, and is reported as -1. Output is counted in characters,
+ * which is the same as bytes for the ASCII output of a Code Jam. Allocated bytes are only
+ * available on JVMs that support {@code com.sun.management.ThreadMXBean}; elsewhere they are
+ * reported as -1.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class CaseStatistics {
+  
+  /**
+   * The number of slowest test cases listed by {@link #report()}.
+   */
+  private static final int SLOWEST_CASES_REPORTED = 5;
+  
+  /**
+   * The bean used to read the allocation counter of the current thread, or {@code null} if the
+   * counter is not available.
+   */
+  private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+  
+  /**
+   * The time taken to solve each test case, in nanoseconds, indexed by case number minus one.
+   */
+  private long[] latencyNanos = new long[0];
+  /**
+   * The bytes of input read by each test case.
+   */
+  private long[] inputBytes = new long[0];
+  /**
+   * The characters of output written for each test case.
+   */
+  private long[] outputBytes = new long[0];
+  /**
+   * The bytes allocated while solving each test case.
+   */
+  private long[] allocatedBytes = new long[0];
+  /**
+   * The value of {@link System#nanoTime()} when the run started.
+   */
+  private long startNanos;
+  /**
+   * The length of the run, in nanoseconds.
+   */
+  private long elapsedNanos;
+  
+  /**
+   * Finds the allocation counter of the current JVM, and enables it if needed.
+   * 
+   * @return The bean holding the counter, or {@code null} if the counter is not available.
+   */
+  private static com.sun.management.ThreadMXBean allocationCounter() {
+    try {
+      java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      if (threads instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        if (counter.isThreadAllocatedMemorySupported()) {
+          counter.setThreadAllocatedMemoryEnabled(true);
+          return counter;
+        }
+      }
+    } catch (LinkageError | UnsupportedOperationException e) {
+      // Not a HotSpot-derived JVM; allocations are not reported.
+    }
+    return null;
+  }
+  
+  /**
+   * Returns the number of bytes allocated by the current thread so far.
+   * 
+   * @return The bytes allocated by the current thread, or -1 if the counter is not available.
+   */
+  static long allocatedBytes() {
+    return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+  
+  /**
+   * Resets these statistics for the start of a run.
+   * 
+   * @param numTestCases The number of test cases in the run.
+   */
+  void start(int numTestCases) {
+    latencyNanos = new long[numTestCases];
+    inputBytes = new long[numTestCases];
+    outputBytes = new long[numTestCases];
+    allocatedBytes = new long[numTestCases];
+    elapsedNanos = 0;
+    startNanos = System.nanoTime();
+  }
+  
+  /**
+   * Records the end of a run.
+   */
+  void finish() {
+    elapsedNanos = System.nanoTime() - startNanos;
+  }
+  
+  /**
+   * Records the solving of a test case. Each test case is recorded by a single thread.
+   * 
+   * @param testNum The number of the test case.
+   * @param nanos The time taken to solve it.
+   * @param allocated The bytes allocated while solving it, or a negative value if unknown.
+   */
+  void recordSolve(int testNum, long nanos, long allocated) {
+    latencyNanos[testNum - 1] = nanos;
+    allocatedBytes[testNum - 1] = allocated < 0 ? -1 : allocated;
+  }
+  
+  /**
+   * Records the input read by a test case.
+   * 
+   * @param testNum The number of the test case.
+   * @param bytes The bytes of input it read.
+   */
+  void recordInput(int testNum, long bytes) {
+    inputBytes[testNum - 1] = bytes;
+  }
+  
+  /**
+   * Records the output written for a test case.
+   * 
+   * @param testNum The number of the test case.
+   * @param chars The characters of output written for it.
+   */
+  void recordOutput(int testNum, long chars) {
+    outputBytes[testNum - 1] = chars;
+  }
+  
+  /**
+   * Returns the number of test cases in the last run.
+   * 
+   * @return The number of test cases.
+   */
+  public int getCases() {
+    return latencyNanos.length;
+  }
+  
+  /**
+   * Returns the time taken to solve a test case.
+   * 
+   * @param testNum The number of the test case.
+   * @return The latency of the test case, in nanoseconds.
+   */
+  public long getLatencyNanos(int testNum) {
+    return latencyNanos[testNum - 1];
+  }
+  
+  /**
+   * Returns the bytes of input read by a test case.
+   * 
+   * @param testNum The number of the test case.
+   * @return The input of the test case, in bytes, or -1 if it is not known.
+   */
+  public long getInputBytes(int testNum) {
+    return inputBytes[testNum - 1];
+  }
+  
+  /**
+   * Returns the characters of output written for a test case.
+   * 
+   * @param testNum The number of the test case.
+   * @return The output of the test case, in characters.
+   */
+  public long getOutputBytes(int testNum) {
+    return outputBytes[testNum - 1];
+  }
+  
+  /**
+   * Returns the bytes allocated by the thread solving a test case while it was solving it.
+   * 
+   * @param testNum The number of the test case.
+   * @return The allocation of the test case, in bytes, or -1 if it is not available.
+   */
+  public long getAllocatedBytes(int testNum) {
+    return allocatedBytes[testNum - 1];
+  }
+  
+  /**
+   * Returns a percentile of the latencies of the last run, using the nearest-rank method.
+   * 
+   * @param percentile The percentile, greater than 0 and at most 100.
+   * @return The latency at that percentile, in nanoseconds, or 0 if the run had no test cases.
+   * @throws IllegalArgumentException If the percentile is out of range.
+   */
+  public long getLatencyPercentile(double percentile) {
+    if (!(percentile > 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile out of range: " + percentile);
+    }
+    if (latencyNanos.length == 0) {
+      return 0;
+    }
+    long[] sorted = latencyNanos.clone();
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+  
+  /**
+   * Returns the number of test cases solved per second over the whole of the last run, including
+   * reading input and writing output.
+   * 
+   * @return The throughput of the run, or 0 if it took no measurable time.
+   */
+  public double getCasesPerSecond() {
+    return elapsedNanos <= 0 ? 0 : latencyNanos.length * 1e9 / elapsedNanos;
+  }
+  
+  /**
+   * Returns the numbers of the slowest test cases of the last run, slowest first.
+   * 
+   * @param count The maximum number of test cases to return.
+   * @return The numbers of the slowest test cases.
+   */
+  public int[] getSlowestCases(int count) {
+    return IntStream.rangeClosed(1, latencyNanos.length)
+                    .boxed()
+                    .sorted((a, b) -> Long.compare(latencyNanos[b - 1], latencyNanos[a - 1]))
+                    .limit(count)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+  }
+  
+  /**
+   * Returns a summary of the last run: its throughput, its latency percentiles, the totals of its
+   * input, output and allocation, and its slowest test cases.
+   * 
+   * @return A multi-line summary of these statistics.
+   */
+  public String report() {
+    StringBuilder report = new StringBuilder();
+    report.append(String.format("Solved %d cases in %.3f s (%.1f cases/s)%n", getCases(),
+      elapsedNanos / 1e9, getCasesPerSecond()));
+    report.append(String.format("Latency: p50 %s, p90 %s, p99 %s, max %s%n",
+      millis(getLatencyPercentile(50)), millis(getLatencyPercentile(90)),
+      millis(getLatencyPercentile(99)), millis(getLatencyPercentile(100))));
+    long allocated = total(allocatedBytes);
+    long input = total(inputBytes);
+    report.append(String.format("Input %s, output %d bytes, allocated %s%n",
+      input < 0 ? "unknown" : input + " bytes", total(outputBytes),
+      allocated < 0 ? "unknown" : allocated + " bytes"));
+    report.append("Slowest cases:");
+    for (int testNum : getSlowestCases(SLOWEST_CASES_REPORTED)) {
+      report.append(String.format(" #%d (%s)", testNum, millis(latencyNanos[testNum - 1])));
+    }
+    return report.toString();
+  }
+  
+  /**
+   * Returns the sum of the values recorded for every test case.
+   * 
+   * @param values The values recorded for every test case.
+   * @return Their sum, or -1 if any value is unknown.
+   */
+  private static long total(long[] values) {
+    long total = 0;
+    for (long value : values) {
+      if (value < 0) {
+        return -1;
+      }
+      total += value;
+    }
+    return total;
+  }
+  
+  /**
+   * Formats a time in milliseconds.
+   * 
+   * @param nanos The time, in nanoseconds.
+   * @return The time in milliseconds, with three decimal places.
+   */
+  private static String millis(long nanos) {
+    return String.format("%.3f ms", nanos / 1e6);
+  }
+  
+  /**
+   * Returns the {@linkplain #report() summary} of these statistics.
+   */
+  @Override
+  public String toString() {
+    return report();
+  }
+}
@@ -0,0 +1,244 @@
+package googlecodejam;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@code ChannelOutputSink} encodes characters into a single direct buffer, and writes that
+ * buffer to one or more channels whenever it fills. Writing the same encoded bytes to every channel
+ * means that results written to both a file and the console are only encoded once.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+final class ChannelOutputSink implements OutputSink {
+  
+  /**
+   * The channels that the encoded bytes are written to.
+   */
+  private final List<WritableByteChannel> channels;
+  /**
+   * The channels that are closed along with this sink. The console is never closed.
+   */
+  private final List<WritableByteChannel> ownedChannels;
+  /**
+   * The console stream that the console channel writes through, which is flushed along with this
+   * sink, or {@code null} if the console is not written to.
+   */
+  private final Flushable console;
+  /**
+   * The buffer that characters are encoded into.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The encoder for the default charset.
+   */
+  private final CharsetEncoder encoder;
+  /**
+   * A buffer for appending a single character, reused between calls.
+   */
+  private final char[] singleChar = new char[1];
+  /**
+   * Whether ASCII text encodes to the same bytes in the default charset, so that it can be copied
+   * into the buffer as it is.
+   */
+  private final boolean asciiCompatible;
+  
+  /**
+   * Constructs a {@code ChannelOutputSink} over the given channels.
+   * 
+   * @param channels The channels that the encoded bytes are written to.
+   * @param ownedChannels The channels that are closed along with this sink.
+   * @param bufferSize The size of the direct buffer, in bytes.
+   */
+  ChannelOutputSink(List<WritableByteChannel> channels, List<WritableByteChannel> ownedChannels,
+                    int bufferSize) {
+    this(channels, ownedChannels, null, bufferSize);
+  }
+  
+  /**
+   * Constructs a {@code ChannelOutputSink} over the given channels, one of which writes through a
+   * console stream that is flushed along with this sink.
+   * 
+   * @param channels The channels that the encoded bytes are written to.
+   * @param ownedChannels The channels that are closed along with this sink.
+   * @param console The console stream, or {@code null} if the console is not written to.
+   * @param bufferSize The size of the direct buffer, in bytes.
+   */
+  private ChannelOutputSink(List<WritableByteChannel> channels,
+                            List<WritableByteChannel> ownedChannels, Flushable console,
+                            int bufferSize) {
+    this.channels = channels;
+    this.ownedChannels = ownedChannels;
+    this.console = console;
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    this.encoder = Charset.defaultCharset()
+                          .newEncoder()
+                          .onMalformedInput(CodingErrorAction.REPLACE)
+                          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.asciiCompatible = encodesAsciiAsItself(encoder.charset());
+  }
+  
+  /**
+   * Opens a {@code ChannelOutputSink} for one of the standard targets.
+   * 
+   * @param target Where the results are written.
+   * @param file The file that results are written to, if the target includes a file.
+   * @param bufferSize The size of the direct buffer, in bytes.
+   * @return A new {@code ChannelOutputSink}.
+   * @throws IOException If the file cannot be opened.
+   */
+  static ChannelOutputSink open(OutputTarget target, Path file, int bufferSize) throws IOException {
+    List<WritableByteChannel> channels = new ArrayList<>(2);
+    List<WritableByteChannel> ownedChannels = new ArrayList<>(1);
+    if (target.includesFile()) {
+      FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      channels.add(fileChannel);
+      ownedChannels.add(fileChannel);
+    }
+    PrintStream console = null;
+    if (target.includesConsole()) {
+      // Write through System.out, so that a stream given to System.setOut
+      // receives the results. Anything already printed must appear first.
+      console = System.out;
+      console.flush();
+      channels.add(Channels.newChannel(console));
+    }
+    return new ChannelOutputSink(channels, ownedChannels, console, bufferSize);
+  }
+  
+  /**
+   * Determines whether a charset encodes every ASCII character as the single byte of its code.
+   * 
+   * @param charset The charset being checked.
+   * @return {@code true} if ASCII text is the same in the charset.
+   */
+  private static boolean encodesAsciiAsItself(Charset charset) {
+    byte[] ascii = new byte[128];
+    for (int i = 0; i < ascii.length; i++) {
+      ascii[i] = (byte) i;
+    }
+    return Arrays.equals(ascii, new String(ascii, StandardCharsets.US_ASCII).getBytes(charset));
+  }
+  
+  @Override
+  public ChannelOutputSink append(CharSequence csq) throws IOException {
+    return append(csq, 0, csq.length());
+  }
+  
+  @Override
+  public ChannelOutputSink append(CharSequence csq, int start, int end) throws IOException {
+    if (csq instanceof CharBuffer && start == 0 && end == csq.length()) {
+      // Written by AsyncOutputSink, which hands over a buffer that may be consumed.
+      encode((CharBuffer) csq);
+    } else {
+      encode(CharBuffer.wrap(csq, start, end));
+    }
+    return this;
+  }
+  
+  /**
+   * Copies the bytes into the buffer as they are, if the default charset encodes ASCII text as
+   * itself, which skips the encoder.
+   */
+  @Override
+  public ChannelOutputSink appendAscii(byte[] bytes, int offset, int length) throws IOException {
+    if (!asciiCompatible) {
+      append(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+      return this;
+    }
+    int end = offset + length;
+    while (offset < end) {
+      if (!buffer.hasRemaining()) {
+        drain();
+      }
+      int count = Math.min(end - offset, buffer.remaining());
+      buffer.put(bytes, offset, count);
+      offset += count;
+    }
+    return this;
+  }
+  
+  @Override
+  public ChannelOutputSink append(char c) throws IOException {
+    singleChar[0] = c;
+    encode(CharBuffer.wrap(singleChar));
+    return this;
+  }
+  
+  /**
+   * Encodes characters into the buffer, writing the buffer out each time it fills.
+   * 
+   * @param chars The characters being encoded.
+   * @throws IOException If an I/O error occurs.
+   */
+  private void encode(CharBuffer chars) throws IOException {
+    CoderResult result = encoder.encode(chars, buffer, true);
+    while (result.isOverflow()) {
+      drain();
+      result = encoder.encode(chars, buffer, true);
+    }
+    encoder.reset();
+  }
+  
+  /**
+   * Writes the contents of the buffer to every channel, then empties it.
+   * 
+   * @throws IOException If an I/O error occurs.
+   */
+  private void drain() throws IOException {
+    // Cast to Buffer so that the Java 8 signatures of these methods are used.
+    Buffer bytes = buffer;
+    bytes.flip();
+    for (WritableByteChannel channel : channels) {
+      bytes.position(0);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+    bytes.clear();
+  }
+  
+  /**
+   * Writes any buffered bytes to every channel, and flushes the console stream.
+   */
+  @Override
+  public void flush() throws IOException {
+    drain();
+    if (console != null) {
+      console.flush();
+    }
+  }
+  
+  /**
+   * Writes any buffered bytes, then closes the channels owned by this sink.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      for (WritableByteChannel channel : ownedChannels) {
+        channel.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,357 @@
+package googlecodejam;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code CodeJamTokenizer} reads whitespace-separated tokens and lines from a byte-oriented
+ * input. It is a faster alternative to {@code Scanner} for Code Jam input: it does not use regular
+ * expressions, and reading a number does not allocate any objects.
+ * <p>
+ * Tokens are separated by any byte with a value at or below the space character, so spaces, tabs,
+ * carriage returns, and new lines are all delimiters. Each byte of a token or line is read as a
+ * single character (ISO-8859-1), which is correct for the ASCII inputs used by Code Jams.
+ * <p>
+ * As with {@code Scanner}, reading a token does not consume the delimiter that follows it. After
+ * reading the last token of a line, {@link #nextLine()} returns the (usually empty) rest of that
+ * line.
+ * <p>
+ * A {@code CodeJamTokenizer} is not safe for use by multiple threads.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ * @see GoogleCodeJamSolver#solve(CodeJamTokenizer)
+ */
+public final class CodeJamTokenizer implements Closeable {
+  
+  /**
+   * The default size, in bytes, of the buffer used when reading from an {@code InputStream}.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+  
+  /**
+   * An empty buffer, used before the first read and after the end of input.
+   */
+  private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+  
+  /**
+   * The source of the input's bytes.
+   */
+  private final ByteSource source;
+  /**
+   * The buffer currently being read.
+   */
+  private ByteBuffer buffer = EMPTY;
+  /**
+   * The position in the current buffer at which it was read from the source.
+   */
+  private int bufferStart;
+  /**
+   * The number of bytes consumed from buffers before the current one.
+   */
+  private long consumedBefore;
+  /**
+   * Whether the source has reported the end of input.
+   */
+  private boolean endOfInput;
+  /**
+   * Scratch space for the bytes of a token or line, reused between calls.
+   */
+  private byte[] scratch = new byte[64];
+  
+  /**
+   * Constructs a {@code CodeJamTokenizer} that reads from the given source.
+   * 
+   * @param source The source of the input's bytes.
+   */
+  CodeJamTokenizer(ByteSource source) {
+    this.source = source;
+  }
+  
+  /**
+   * Constructs a {@code CodeJamTokenizer} that reads from the given stream using a buffer of
+   * {@value #DEFAULT_BUFFER_SIZE} bytes.
+   * 
+   * @param in The stream being read.
+   */
+  public CodeJamTokenizer(InputStream in) {
+    this(in, DEFAULT_BUFFER_SIZE);
+  }
+  
+  /**
+   * Constructs a {@code CodeJamTokenizer} that reads from the given stream using a buffer of the
+   * given size.
+   * 
+   * @param in The stream being read.
+   * @param bufferSize The size of the buffer, in bytes.
+   * @throws IllegalArgumentException If the buffer size is not positive.
+   */
+  public CodeJamTokenizer(InputStream in, int bufferSize) {
+    this(ByteSource.of(in, checkBufferSize(bufferSize)));
+  }
+  
+  /**
+   * Constructs a {@code CodeJamTokenizer} that reads the characters of a {@code String}. Each
+   * character is read as a single byte.
+   * 
+   * @param input The input being read.
+   */
+  public CodeJamTokenizer(String input) {
+    this(ByteSource.of(input.getBytes(StandardCharsets.ISO_8859_1)));
+  }
+  
+  /**
+   * Creates a {@code CodeJamTokenizer} that reads a file by memory-mapping it in windows of the
+   * given size. The mapped windows are read directly, without being copied.
+   * 
+   * @param file The file being read.
+   * @param windowSize The maximum size of each mapped window, in bytes.
+   * @return A {@code CodeJamTokenizer} over the file.
+   * @throws IllegalArgumentException If the window size is not positive.
+   * @throws IOException If the file cannot be opened.
+   */
+  public static CodeJamTokenizer ofMappedFile(Path file, int windowSize) throws IOException {
+    return new CodeJamTokenizer(new MappedFileByteSource(file, checkBufferSize(windowSize)));
+  }
+  
+  /**
+   * Checks that a buffer size is positive.
+   * 
+   * @param bufferSize The size being checked.
+   * @return The size.
+   * @throws IllegalArgumentException If the size is not positive.
+   */
+  private static int checkBufferSize(int bufferSize) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+    }
+    return bufferSize;
+  }
+  
+  /**
+   * Reads the next token as an {@code int}.
+   * 
+   * @return The next token as an {@code int}.
+   * @throws InputMismatchException If the next token is not an integer, or is out of range.
+   * @throws NoSuchElementException If there are no more tokens.
+   * @throws IOException If an I/O error occurs.
+   */
+  public int nextInt() throws IOException {
+    long value = nextLong();
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new InputMismatchException("Value out of range for an int: " + value);
+    }
+    return (int) value;
+  }
+  
+  /**
+   * Reads the next token as a {@code long}.
+   * 
+   * @return The next token as a {@code long}.
+   * @throws InputMismatchException If the next token is not an integer, or is out of range.
+   * @throws NoSuchElementException If there are no more tokens.
+   * @throws IOException If an I/O error occurs.
+   */
+  public long nextLong() throws IOException {
+    skipWhitespace();
+    int sign = peek();
+    boolean negative = sign == '-';
+    if (negative || sign == '+') {
+      buffer.get();
+    }
+    // Accumulate negatively so that Long.MIN_VALUE can be read without overflowing.
+    long value = 0;
+    int digits = 0;
+    for (int next = peek(); next >= '0' && next <= '9'; next = peek()) {
+      buffer.get();
+      int digit = next - '0';
+      if (value < (Long.MIN_VALUE + digit) / 10) {
+        throw new InputMismatchException("Value out of range for a long");
+      }
+      value = value * 10 - digit;
+      digits++;
+    }
+    if (digits == 0 || !isDelimiter(peek())) {
+      throw new InputMismatchException("Next token is not an integer");
+    }
+    if (negative) {
+      return value;
+    }
+    if (value == Long.MIN_VALUE) {
+      throw new InputMismatchException("Value out of range for a long");
+    }
+    return -value;
+  }
+  
+  /**
+   * Reads the next whitespace-separated token.
+   * 
+   * @return The next token.
+   * @throws NoSuchElementException If there are no more tokens.
+   * @throws IOException If an I/O error occurs.
+   */
+  public String nextToken() throws IOException {
+    skipWhitespace();
+    int length = 0;
+    for (int next = peek(); !isDelimiter(next); next = peek()) {
+      length = append(length, buffer.get());
+    }
+    return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+  }
+  
+  /**
+   * Reads the rest of the current line, and moves past the line separator that ends it. The line
+   * separator is not included in the result.
+   * 
+   * @return The rest of the current line.
+   * @throws NoSuchElementException If there is no more input.
+   * @throws IOException If an I/O error occurs.
+   */
+  public String nextLine() throws IOException {
+    return nextLine(StandardCharsets.ISO_8859_1);
+  }
+  
+  /**
+   * Reads the rest of the current line, decoding its bytes with the given charset, and moves past
+   * the line separator that ends it. The line separator is not included in the result.
+   * 
+   * @param charset The charset that the line is decoded with.
+   * @return The rest of the current line.
+   * @throws NoSuchElementException If there is no more input.
+   * @throws IOException If an I/O error occurs.
+   */
+  public String nextLine(Charset charset) throws IOException {
+    if (peek() < 0) {
+      throw new NoSuchElementException("No line found");
+    }
+    int length = 0;
+    for (int next = peek(); next >= 0; next = peek()) {
+      buffer.get();
+      if (next == '\n') {
+        break;
+      }
+      length = append(length, (byte) next);
+    }
+    if (length > 0 && scratch[length - 1] == '\r') {
+      length--;
+    }
+    return new String(scratch, 0, length, charset);
+  }
+  
+  /**
+   * Returns whether there is another token in the input. Any delimiters before the next token are
+   * skipped.
+   * 
+   * @return {@code true} if there is another token, {@code false} otherwise.
+   * @throws IOException If an I/O error occurs.
+   */
+  public boolean hasNextToken() throws IOException {
+    for (int next = peek(); next >= 0; next = peek()) {
+      if (!isDelimiter(next)) {
+        return true;
+      }
+      buffer.get();
+    }
+    return false;
+  }
+  
+  /**
+   * Returns the number of bytes of input that have been consumed so far.
+   * 
+   * @return The position of this tokenizer in its input.
+   */
+  public long position() {
+    return consumedBefore + buffer.position() - bufferStart;
+  }
+  
+  /**
+   * Closes the underlying source.
+   * 
+   * @throws IOException If an I/O error occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+  
+  /**
+   * Skips delimiters until the start of the next token.
+   * 
+   * @throws NoSuchElementException If there are no more tokens.
+   * @throws IOException If an I/O error occurs.
+   */
+  private void skipWhitespace() throws IOException {
+    if (!hasNextToken()) {
+      throw new NoSuchElementException();
+    }
+  }
+  
+  /**
+   * Returns the next byte without consuming it, reading more input if needed.
+   * 
+   * @return The next byte as a value from 0 to 255, or -1 at the end of input.
+   * @throws IOException If an I/O error occurs.
+   */
+  private int peek() throws IOException {
+    if (!buffer.hasRemaining() && !refill()) {
+      return -1;
+    }
+    return buffer.get(buffer.position()) & 0xFF;
+  }
+  
+  /**
+   * Replaces the current, fully read buffer with the next one from the source.
+   * 
+   * @return {@code true} if there are more bytes, {@code false} at the end of input.
+   * @throws IOException If an I/O error occurs.
+   */
+  private boolean refill() throws IOException {
+    if (endOfInput) {
+      return false;
+    }
+    ByteBuffer next = source.next();
+    consumedBefore += buffer.position() - bufferStart;
+    if (next == null) {
+      endOfInput = true;
+      buffer = EMPTY;
+      bufferStart = 0;
+      return false;
+    }
+    buffer = next;
+    bufferStart = next.position();
+    return true;
+  }
+  
+  /**
+   * Appends a byte to the scratch space, growing it if needed.
+   * 
+   * @param length The number of bytes already in the scratch space.
+   * @param value The byte being appended.
+   * @return The new number of bytes in the scratch space.
+   */
+  private int append(int length, byte value) {
+    if (length == scratch.length) {
+      scratch = Arrays.copyOf(scratch, length * 2);
+    }
+    scratch[length] = value;
+    return length + 1;
+  }
+  
+  /**
+   * Returns whether a value returned by {@link #peek()} ends a token.
+   * 
+   * @param value The value being checked.
+   * @return {@code true} if the value is whitespace or the end of input.
+   */
+  private static boolean isDelimiter(int value) {
+    return value <= ' ';
+  }
+}
@@ -1,10 +1,19 @@
 package googlecodejam;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * <p>
@@ -16,10 +25,14 @@ import java.util.Scanner;
  * <li>In the main method of a subclass, create an instance of that subclass.
  * <li>Call {@link #go(String[])}, passing in the arguments from main. If main
  * provides an argument, that filename is used to load input. Otherwise,
- * System.in is used for input.
+ * System.in is used for input. To solve test cases concurrently, call
+ * {@link #go(SolverOptions)} with {@linkplain SolverOptions.Builder#parallel
+ * parallel} options instead.
  * <li>Implement the solve method to use the input in whatever way required for
  * that code jam to solve one particular test case. Return a {@code String}
- * containing that result.
+ * containing that result. A Code Jam with large answers can instead override
+ * {@link #solve(Scanner, OutputSink)} to write its answer directly to the output
+ * as it is produced.
  * </ol>
  * <p>
  * Because the methods all throw {@code IOException}, it is left up to the
@@ -32,6 +45,11 @@ import java.util.Scanner;
  */
 public abstract class GoogleCodeJamSolver {
   
+  /**
+   * The number of characters written by {@link OutputSink#newLine()}.
+   */
+  private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+  
   /**
    * Sole constructor. (For invocation by subclass constructors, typically
    * implicit.)
@@ -44,7 +62,7 @@ public abstract class GoogleCodeJamSolver {
    * Executes a Google Code Jam to solve it. First, it reads from the arguments to
    * determine whether it should load its input from a file or from
    * {@code System.in}. It writes the results to the console and to a file named
-   * "solution.txt". The format of this is as follows:
+   * "solution.txt", on a background thread. The format of this is as follows:
    * <p>
    * Given a number of test cases from input, write that many lines in this
    * format:
@@ -64,36 +82,532 @@ public abstract class GoogleCodeJamSolver {
    *           If an I/O error occurs.
    */
   public final void go(String... args) throws IOException {
-    try (Scanner in = initialize(args);
-        FileWriter fw = new FileWriter("solution.txt");
-        BufferedWriter writer = new BufferedWriter(fw)) {
-      
-      int numTestCases = Integer.parseInt(in.nextLine());
+    go(SolverOptions.fromArguments(args));
+  }
+  
+  /**
+   * Executes a Google Code Jam to solve it using the given options. The results are written in the
+   * same format as {@link #go(String...)}.
+   * <p>
+   * If the options are {@linkplain SolverOptions#isParallel() parallel}, the run is a pipeline of
+   * three stages. A parse thread reads each test case in order as the number of lines given by
+   * {@link #linesInTestCase(String)}; {@linkplain SolverOptions#getSolveWorkers() solve workers} on
+   * the options' {@code Executor} solve each one using a {@code Scanner} (or
+   * {@code CodeJamTokenizer}) over only that test case; and the calling thread writes the results in
+   * "Case #n" order. In this mode, the solve method may be called by several threads at once.
+   * <p>
+   * Each result is appended to the options' {@code OutputSink} in a single pass, and the sink is
+   * flushed once every test case has been written.
+   * <p>
+   * If the options hold {@linkplain SolverOptions#getCaseStatistics() case statistics}, each test
+   * case is measured, and a summary is printed to {@code System.err} when the run finishes.
+   * <p>
+   * Otherwise, if the run is sequential and this solver
+   * {@linkplain #solvesInBulk() solves in bulk}, every test case is handed to
+   * {@link #solveAll(CodeJamTokenizer, int, OutputSink)} at once.
+   * 
+   * @param options
+   *          The options that determine where input is loaded from and how the test cases are
+   *          solved.
+   * @throws IOException
+   *           If an I/O error occurs.
+   */
+  public final void go(SolverOptions options) throws IOException {
+    CaseStatistics caseStatistics = options.getCaseStatistics();
+    try (TestCaseSource in = openTestCases(options)) {
+      OutputSink out = openOutput(options);
+      try {
+        int numTestCases = Integer.parseInt(in.nextLine());
+        if (caseStatistics != null) {
+          caseStatistics.start(numTestCases);
+        }
+        if (options.isParallel()) {
+          solveInParallel(in, numTestCases, out, options);
+        } else if (caseStatistics == null && solvesInBulk()) {
+          in.solveAll(numTestCases, out);
+        } else if (caseStatistics == null) {
+          for (int testNum = 1; testNum <= numTestCases; testNum++) {
+            writeAnswer(in, out, testNum);
+          }
+        } else {
+          solveInstrumented(in, numTestCases, out, caseStatistics);
+        }
+        out.flush();
+        if (caseStatistics != null) {
+          caseStatistics.finish();
+          System.err.println(caseStatistics.report());
+        }
+      } finally {
+        // A sink given in the options belongs to the caller.
+        if (options.getOutputSink() == null) {
+          out.close();
+        }
+      }
+    }
+  }
+  
+  /**
+   * Opens the sink that the results of a run are written to.
+   * 
+   * @param options
+   *          The options describing the output.
+   * @return The options' own sink if one was given, or a new sink for the options' standard target.
+   * @throws IOException
+   *           If the output file cannot be opened.
+   */
+  private static OutputSink openOutput(SolverOptions options) throws IOException {
+    if (options.getOutputSink() != null) {
+      return options.getOutputSink();
+    }
+    OutputSink out = OutputSink.open(options.getOutputTarget(), options.getOutputFile(),
+      options.getOutputBufferSize());
+    if (options.isAsynchronousOutput()) {
+      out = OutputSink.asynchronous(out, options.getOutputQueueCapacity());
+    }
+    return out;
+  }
+  
+  /**
+   * Solves each test case sequentially, recording its time, input, output and allocation. As the
+   * answer of a test case may be streamed as it is solved, its time includes writing it. The input
+   * of a test case is recorded as -1 if the input source does not count it.
+   * 
+   * @param in
+   *          The input source, positioned at the first test case.
+   * @param numTestCases
+   *          The number of test cases to solve.
+   * @param out
+   *          The sink that results are written to.
+   * @param caseStatistics
+   *          The statistics that each test case is recorded in.
+   * @throws IOException
+   *           If an I/O error occurs.
+   */
+  private void solveInstrumented(TestCaseSource in, int numTestCases, OutputSink out,
+      CaseStatistics caseStatistics) throws IOException {
+    CountingOutputSink counted = new CountingOutputSink(out);
+    for (int testNum = 1; testNum <= numTestCases; testNum++) {
+      long startPosition = in.position();
+      long startCount = counted.count;
+      long startAllocated = CaseStatistics.allocatedBytes();
+      long start = System.nanoTime();
+      writeAnswer(in, counted, testNum);
+      long nanos = System.nanoTime() - start;
+      caseStatistics.recordSolve(testNum, nanos, allocatedSince(startAllocated));
+      caseStatistics.recordInput(testNum, startPosition < 0 ? -1
+                                                            : in.position() - startPosition);
+      caseStatistics.recordOutput(testNum, counted.count - startCount);
+    }
+  }
+  
+  /**
+   * Returns the number of bytes allocated by the current thread since an earlier reading of
+   * {@link CaseStatistics#allocatedBytes()}.
+   * 
+   * @param startAllocated
+   *          The earlier reading.
+   * @return The bytes allocated since then, or -1 if the allocation counter is not available.
+   */
+  private static long allocatedSince(long startAllocated) {
+    return startAllocated < 0 ? -1 : CaseStatistics.allocatedBytes() - startAllocated;
+  }
+  
+  /**
+   * Solves the test cases in a pipeline of three stages, joined by bounded queues:
+   * <ol>
+   * <li>A parse thread reads the raw text of each test case into the solve queue, which holds at
+   * most {@link SolverOptions#getSolveQueueCapacity()} test cases.
+   * <li>{@link SolverOptions#getSolveWorkers()} workers on the options' {@code Executor} take test
+   * cases from the solve queue and solve them, putting each result into a {@code ReorderWindow} of
+   * {@link SolverOptions#getMaxPendingCases()} cases.
+   * <li>The calling thread takes the results from the window in order and writes them.
+   * </ol>
+   * However many test cases the input holds, no more than the capacities of the two queues, plus
+   * one per worker, are held in memory at once. If any stage fails, the others are stopped and the
+   * failure is thrown once every earlier result has been written. If the {@code Executor} rejects a
+   * worker, or runs it on the calling thread, the run is stopped in the same way and a
+   * {@code RejectedExecutionException} is thrown.
+   * <p>
+   * If the options hold case statistics, each stage records its part of every test case: the
+   * parse stage its input, the solve stage its time and allocation, and the emit stage its output.
+   * 
+   * @param in
+   *          The input source, positioned at the first test case.
+   * @param numTestCases
+   *          The number of test cases to solve.
+   * @param out
+   *          The sink that results are written to.
+   * @param options
+   *          The options holding the {@code Executor} and the sizes of the pipeline.
+   * @throws IOException
+   *           If an I/O error occurs, either while reading or while solving a test case.
+   */
+  private void solveInParallel(TestCaseSource in, int numTestCases, OutputSink out,
+      SolverOptions options) throws IOException {
+    Executor executor = options.getExecutor();
+    int solveWorkers = options.getSolveWorkers();
+    BlockingQueue<ParsedTestCase> parsed = new ArrayBlockingQueue<>(
+      options.getSolveQueueCapacity());
+    ReorderWindow solved = new ReorderWindow(options.getMaxPendingCases());
+    PipelineStatistics statistics = options.getStatistics() != null ? options.getStatistics()
+                                                                    : new PipelineStatistics();
+    statistics.start(parsed, solved, solveWorkers);
+    CaseStatistics caseStatistics = options.getCaseStatistics();
+    Thread parser = new Thread(() -> parseTestCases(in, numTestCases, parsed, solved, statistics,
+      caseStatistics), "codejam-parser");
+    parser.setDaemon(true);
+    parser.start();
+    Thread caller = Thread.currentThread();
+    boolean finished = false;
+    try {
+      for (int worker = 0; worker < solveWorkers; worker++) {
+        executor.execute(() -> {
+          // A worker on this thread would block it before any answer is written.
+          if (Thread.currentThread() == caller) {
+            throw new RejectedExecutionException("Solve workers cannot run on the calling thread");
+          }
+          solveTestCases(parsed, solved, statistics, caseStatistics);
+        });
+      }
       for (int testNum = 1; testNum <= numTestCases; testNum++) {
-        StringBuilder messageBuilder = new StringBuilder(caseNumber(testNum));
-        messageBuilder.append(solve(in));
-        String answer = messageBuilder.toString();
-        writer.append(answer);
-        writer.newLine();
-        System.out.println(answer);
+        MemoryOutputSink answer = awaitAnswer(solved);
+        long start = System.nanoTime();
+        int outputChars = writeAnswer(out, testNum, answer);
+        statistics.recordEmit(System.nanoTime() - start);
+        if (caseStatistics != null) {
+          caseStatistics.recordOutput(testNum, outputChars);
+        }
       }
+      finished = true;
+    } finally {
+      if (!finished) {
+        // Stop the parse thread, and make sure that every worker finds the end of the queue.
+        solved.abort();
+        parser.interrupt();
+        do {
+          parsed.clear();
+        } while (!parsed.offer(ParsedTestCase.END));
+      }
+      statistics.finish();
     }
   }
   
   /**
-   * Initializes the {@code Scanner} from either file-based resource or from the
-   * System input stream {@code System.in}.
+   * The body of the parse thread. Reads each test case in order into the solve queue, followed by
+   * {@link ParsedTestCase#END}. If a test case cannot be read, the failure is put into the reorder
+   * window in place of its result, and no more test cases are read.
    * 
-   * @param args
-   *          The arguments from the {@code main} method of the subclass.
-   * @return a {@code Scanner} with a valid source.
+   * @param in
+   *          The input source, positioned at the first test case.
+   * @param numTestCases
+   *          The number of test cases to read.
+   * @param parsed
+   *          The solve queue.
+   * @param solved
+   *          The reorder window.
+   * @param statistics
+   *          The statistics of the run.
+   * @param caseStatistics
+   *          The statistics that each test case is recorded in, or {@code null}.
+   */
+  private void parseTestCases(TestCaseSource in, int numTestCases,
+      BlockingQueue<ParsedTestCase> parsed, ReorderWindow solved, PipelineStatistics statistics,
+      CaseStatistics caseStatistics) {
+    try {
+      for (int testNum = 1; testNum <= numTestCases; testNum++) {
+        long start = System.nanoTime();
+        long startPosition = in.position();
+        ParsedTestCase testCase;
+        try {
+          testCase = new ParsedTestCase(testNum, readTestCase(in));
+        } catch (Throwable e) {
+          solved.put(testNum, e);
+          break;
+        }
+        statistics.recordParse(System.nanoTime() - start);
+        if (caseStatistics != null) {
+          caseStatistics.recordInput(testNum, in.position() - startPosition);
+        }
+        parsed.put(testCase);
+      }
+      parsed.put(ParsedTestCase.END);
+    } catch (InterruptedException e) {
+      // Only interrupted when the run is abandoned, which ends the workers itself.
+    }
+  }
+  
+  /**
+   * The body of each solve worker. Solves test cases from the solve queue until it reaches
+   * {@link ParsedTestCase#END}, which is put back for the other workers to find. Once the run has
+   * been abandoned, test cases are discarded rather than solved.
+   * 
+   * @param parsed
+   *          The solve queue.
+   * @param solved
+   *          The reorder window.
+   * @param statistics
+   *          The statistics of the run.
+   * @param caseStatistics
+   *          The statistics that each test case is recorded in, or {@code null}.
+   */
+  private void solveTestCases(BlockingQueue<ParsedTestCase> parsed, ReorderWindow solved,
+      PipelineStatistics statistics, CaseStatistics caseStatistics) {
+    try {
+      while (true) {
+        ParsedTestCase testCase = parsed.take();
+        if (testCase == ParsedTestCase.END) {
+          parsed.put(ParsedTestCase.END);
+          return;
+        }
+        if (solved.isAborted()) {
+          continue;
+        }
+        long startAllocated = caseStatistics != null ? CaseStatistics.allocatedBytes() : -1;
+        long start = System.nanoTime();
+        Object result;
+        try {
+          result = solveTestCase(testCase.text);
+        } catch (Throwable e) {
+          result = e;
+        }
+        long nanos = System.nanoTime() - start;
+        statistics.recordSolve(nanos);
+        if (caseStatistics != null) {
+          caseStatistics.recordSolve(testCase.number, nanos, allocatedSince(startAllocated));
+        }
+        solved.put(testCase.number, result);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+  
+  /**
+   * Reads the raw text of a single test case: the number of lines given by
+   * {@link #linesInTestCase(String)}, joined by new lines.
+   * 
+   * @param in
+   *          The input source, positioned at the start of a test case.
+   * @return The text of the test case.
+   * @throws IOException
+   *           If an I/O error occurs.
+   */
+  private String readTestCase(LineSource in) throws IOException {
+    String firstLine = in.nextLine();
+    int numLines = linesInTestCase(firstLine);
+    if (numLines == 1) {
+      return firstLine;
+    }
+    StringBuilder testCase = new StringBuilder(firstLine);
+    for (int line = 1; line < numLines; line++) {
+      testCase.append('\n').append(in.nextLine());
+    }
+    return testCase.toString();
+  }
+  
+  /**
+   * Solves a single test case from its raw text, using whichever input source this solver
+   * {@linkplain #usesTokenizer() uses}. The answer is buffered in memory until the emit stage
+   * reaches it.
+   * 
+   * @param testCase
+   *          The text of the test case.
+   * @return The answer of the test case.
+   * @throws IOException
+   *           If an I/O error occurs while solving.
+   */
+  private MemoryOutputSink solveTestCase(String testCase) throws IOException {
+    MemoryOutputSink answer = new MemoryOutputSink();
+    if (usesTokenizer()) {
+      solve(new CodeJamTokenizer(testCase), answer);
+    } else {
+      solve(new Scanner(testCase), answer);
+    }
+    return answer;
+  }
+  
+  /**
+   * Waits for the next answer in the reorder window and returns it.
+   * 
+   * @param solved
+   *          The reorder window.
+   * @return The buffered answer of the next test case.
+   * @throws IOException
+   *           If the test case threw an {@code IOException}, or if this thread was interrupted
+   *           while waiting.
+   */
+  private static MemoryOutputSink awaitAnswer(ReorderWindow solved) throws IOException {
+    Object result;
+    try {
+      result = solved.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a test case");
+    }
+    if (result instanceof IOException) {
+      throw (IOException) result;
+    }
+    if (result instanceof RuntimeException) {
+      throw (RuntimeException) result;
+    }
+    if (result instanceof Error) {
+      throw (Error) result;
+    }
+    if (result instanceof Throwable) {
+      throw new IOException((Throwable) result);
+    }
+    return (MemoryOutputSink) result;
+  }
+  
+  /**
+   * Solves the next test case directly from the input, streaming its answer to the sink, preceded
+   * by its case number and followed by a line separator.
+   * 
+   * @param in
+   *          The input source, positioned at the start of the test case.
+   * @param out
+   *          The sink that results are written to.
+   * @param testNum
+   *          The number of the test case.
+   * @throws IOException
+   *           If an I/O error occurs.
+   */
+  private void writeAnswer(TestCaseSource in, OutputSink out, int testNum) throws IOException {
+    out.append(caseNumber(testNum));
+    in.solveNext(out);
+    out.newLine();
+  }
+  
+  /**
+   * Writes the buffered answer of a single test case, preceded by its case number and followed by
+   * a line separator.
+   * 
+   * @param out
+   *          The sink that results are written to.
+   * @param testNum
+   *          The number of the test case.
+   * @param answer
+   *          The buffered answer of the test case.
+   * @return The number of characters written.
+   * @throws IOException
+   *           If an I/O error occurs.
+   */
+  private int writeAnswer(OutputSink out, int testNum, MemoryOutputSink answer)
+      throws IOException {
+    String caseNumber = caseNumber(testNum);
+    out.append(caseNumber);
+    answer.writeTo(out);
+    out.newLine();
+    return caseNumber.length() + answer.length() + LINE_SEPARATOR_LENGTH;
+  }
+  
+  /**
+   * Opens the input of a run, read through a {@code CodeJamTokenizer} if this solver
+   * {@linkplain #usesTokenizer() uses one}, or through a {@code Scanner} otherwise. A parallel run
+   * only reads whole lines before the test cases are solved, so it always reads through a
+   * {@code CodeJamTokenizer}, which counts the exact bytes of each test case. Its lines are decoded
+   * as a {@code Scanner} would decode them if this solver does not use a tokenizer.
+   * 
+   * @param options
+   *          The options naming the input resource, if any.
+   * @return The test cases of the run.
+   * @throws IOException
+   *           If the input stream cannot be opened.
+   */
+  private TestCaseSource openTestCases(SolverOptions options) throws IOException {
+    if (usesTokenizer() || options.isParallel()) {
+      Path file = options.getFile();
+      CodeJamTokenizer in = file != null ? CodeJamTokenizer.ofMappedFile(file,
+        options.getMapWindowSize()) : new CodeJamTokenizer(initialize(options));
+      Charset charset = usesTokenizer() ? StandardCharsets.ISO_8859_1 : Charset.defaultCharset();
+      return new TestCaseSource() {
+        
+        @Override
+        public String nextLine() throws IOException {
+          return in.nextLine(charset);
+        }
+        
+        @Override
+        public void solveNext(OutputSink out) throws IOException {
+          solve(in, out);
+        }
+        
+        @Override
+        public void solveAll(int numTestCases, OutputSink out) throws IOException {
+          GoogleCodeJamSolver.this.solveAll(in, numTestCases, out);
+        }
+        
+        @Override
+        public long position() {
+          return in.position();
+        }
+        
+        @Override
+        public void close() throws IOException {
+          in.close();
+        }
+      };
+    }
+    Scanner in = new Scanner(initialize(options));
+    return new TestCaseSource() {
+      
+      @Override
+      public String nextLine() {
+        return in.nextLine();
+      }
+      
+      @Override
+      public void solveNext(OutputSink out) throws IOException {
+        solve(in, out);
+      }
+      
+      @Override
+      public void solveAll(int numTestCases, OutputSink out) throws IOException {
+        // Solving in bulk needs a tokenizer, so solve one test case at a time.
+        for (int testNum = 1; testNum <= numTestCases; testNum++) {
+          writeAnswer(this, out, testNum);
+        }
+      }
+      
+      @Override
+      public long position() {
+        // A Scanner reads ahead of the test case it is solving, so the bytes
+        // it has read say nothing about the bytes of each test case.
+        return -1;
+      }
+      
+      @Override
+      public void close() {
+        in.close();
+      }
+    };
+  }
+  
+  /**
+   * Initializes the input stream from either a file-based resource, a file on
+   * the local filesystem, a stream given in the options, or from the System input
+   * stream {@code System.in}.
+   * 
+   * @param options
+   *          The options naming the input resource or file, if any.
+   * @return an {@code InputStream} with a valid source.
    * @throws IOException
    *           If the input stream cannot be opened.
    */
-  private Scanner initialize(String[] args) throws IOException {
-    if (args.length > 0) {
-      String resourceName = args[0];
-      return new Scanner(getClass().getClassLoader().getResource(resourceName).openStream());
+  private InputStream initialize(SolverOptions options) throws IOException {
+    String resourceName = options.getResourceName();
+    if (resourceName != null) {
+      return getClass().getClassLoader().getResource(resourceName).openStream();
+    } else if (options.getFile() != null) {
+      return Files.newInputStream(options.getFile());
+    } else if (options.getInputStream() != null) {
+      // The stream belongs to the caller, so closing the input must not close it.
+      return new FilterInputStream(options.getInputStream()) {
+        
+        @Override
+        public void close() {
+        }
+      };
     } else {
       /**
        * A {@code SysInWrapper} wraps around the {@code System.in} stream to guarantee
@@ -124,7 +638,7 @@ public abstract class GoogleCodeJamSolver {
         public void close() {
         }
       }
-      return new Scanner(new SysInWrapper());
+      return new SysInWrapper();
     }
   }
   
@@ -164,12 +678,85 @@ public abstract class GoogleCodeJamSolver {
     return new StringBuilder("Case #").append(testNumber).append(": ").toString();
   }
   
+  /**
+   * Returns the number of lines that make up a single test case, given the first line of that test
+   * case. This is only used when solving in parallel, where each test case must be read before it
+   * is solved. The default is 1, which is correct for Code Jams where every test case is a single
+   * line. This should be overridden if a specific Google Code Jam has test cases that span several
+   * lines.
+   * 
+   * @param firstLine
+   *          The first line of a test case.
+   * @return The total number of lines in the test case, including the first line.
+   */
+  protected int linesInTestCase(String firstLine) {
+    return 1;
+  }
+  
+  /**
+   * Returns whether this solver reads its input through a {@code CodeJamTokenizer} rather than a
+   * {@code Scanner}. If this returns {@code true}, {@link #solve(CodeJamTokenizer)} is called for
+   * each test case instead of {@link #solve(Scanner)}. The default is {@code false}. A subclass that
+   * overrides {@link #solve(CodeJamTokenizer)} should override this to return {@code true}; if it
+   * does not, the tokenizer is adapted to {@link #solve(Scanner)} instead.
+   * 
+   * @return {@code true} if test cases are solved using a {@code CodeJamTokenizer}.
+   */
+  protected boolean usesTokenizer() {
+    return false;
+  }
+  
+  /**
+   * Returns whether this solver solves every test case of a sequential run at once, through
+   * {@link #solveAll(CodeJamTokenizer, int, OutputSink)}, rather than one at a time. The default is
+   * {@code false}. Solving in bulk needs a tokenizer, so if this solver does not
+   * {@linkplain #usesTokenizer() use one}, its test cases are still solved one at a time.
+   * 
+   * @return {@code true} if sequential runs are solved in bulk.
+   */
+  protected boolean solvesInBulk() {
+    return false;
+  }
+  
+  /**
+   * Solves every test case of a run at once. This is only called if {@link #solvesInBulk()}
+   * returns {@code true}, when the run is neither parallel nor instrumented. It lets a Code Jam
+   * with many small test cases read them into primitive arrays, solve them in a tight loop, and
+   * format the results itself, instead of paying for a call, a {@code String}, and a case number
+   * for each one.
+   * <p>
+   * Unlike {@link #solve(CodeJamTokenizer, OutputSink)}, this writes every line of the results:
+   * the case numbers, in the format of {@link #caseNumber(int)}, and the line separators. The sink
+   * must not be flushed or closed. The default implementation solves each test case in turn with
+   * {@link #solve(CodeJamTokenizer, OutputSink)}.
+   * 
+   * @param in
+   *          The input source, positioned at the first test case.
+   * @param numTestCases
+   *          The number of test cases to solve.
+   * @param out
+   *          The sink that results are written to.
+   * @throws IOException
+   *           If an I/O error occurs while reading input or writing the results.
+   */
+  protected void solveAll(CodeJamTokenizer in, int numTestCases, OutputSink out)
+      throws IOException {
+    for (int testNum = 1; testNum <= numTestCases; testNum++) {
+      out.append(caseNumber(testNum));
+      solve(in, out);
+      out.newLine();
+    }
+  }
+  
   /**
    * Solves a particular test case. It is up to each subclass's implementation to
    * understand and read the format of a particular Code Jam using the input
    * source. A subclass should not need to catch exceptions thrown by the
    * {@code Scanner} based on the wrong input type (i.e. an
    * {@code InputMismatchException}).
+   * <p>
+   * When solving in parallel, this may be called by several threads at once, each with its own
+   * {@code Scanner}, so it must not modify state shared between test cases.
    * 
    * @param in
    *          The input source used to read the test case's information.
@@ -178,4 +765,218 @@ public abstract class GoogleCodeJamSolver {
    *           If an I/O error occurs while reading input.
    */
   protected abstract String solve(Scanner in) throws IOException;
+  
+  /**
+   * Solves a particular test case, reading its information through a {@code CodeJamTokenizer}. This
+   * is only called if {@link #usesTokenizer()} returns {@code true}, and has the same contract as
+   * {@link #solve(Scanner)} otherwise. The default implementation reads the
+   * {@linkplain #linesInTestCase(String) lines of the test case} and solves them with
+   * {@link #solve(Scanner)}, so a solver that only overrides {@link #usesTokenizer()} still works.
+   * 
+   * @param in
+   *          The input source used to read the test case's information.
+   * @return A {@code String} containing the test case's solution.
+   * @throws IOException
+   *           If an I/O error occurs while reading input.
+   */
+  protected String solve(CodeJamTokenizer in) throws IOException {
+    return solve(new Scanner(readTestCase(in::nextLine)));
+  }
+  
+  /**
+   * Solves a particular test case, writing its answer directly to a sink rather than returning it.
+   * This is called for each test case when this solver does not
+   * {@linkplain #usesTokenizer() use a tokenizer}. A subclass with large answers can override this
+   * to stream the answer as it is produced, instead of building it up in a {@code String}.
+   * <p>
+   * The case number has already been written when this is called, and a line separator is written
+   * after it returns, so the answer should not end with one. The sink must not be flushed or
+   * closed. When solving in parallel, the sink buffers the answer in memory until the answers of
+   * the earlier test cases have been written.
+   * <p>
+   * The default implementation appends the result of {@link #solve(Scanner)}.
+   * 
+   * @param in
+   *          The input source used to read the test case's information.
+   * @param out
+   *          The sink that the test case's answer is written to.
+   * @throws IOException
+   *           If an I/O error occurs while reading input or writing the answer.
+   */
+  protected void solve(Scanner in, OutputSink out) throws IOException {
+    out.append(solve(in));
+  }
+  
+  /**
+   * Solves a particular test case, reading its information through a {@code CodeJamTokenizer} and
+   * writing its answer directly to a sink. This is called for each test case when
+   * {@link #usesTokenizer()} returns {@code true}, and has the same contract as
+   * {@link #solve(Scanner, OutputSink)} otherwise.
+   * <p>
+   * The default implementation appends the result of {@link #solve(CodeJamTokenizer)}.
+   * 
+   * @param in
+   *          The input source used to read the test case's information.
+   * @param out
+   *          The sink that the test case's answer is written to.
+   * @throws IOException
+   *           If an I/O error occurs while reading input or writing the answer.
+   */
+  protected void solve(CodeJamTokenizer in, OutputSink out) throws IOException {
+    out.append(solve(in));
+  }
+  
+  /**
+   * The raw text of a single test case, passed from the parse stage to the solve stage.
+   * 
+   * @author Scotty Boutin
+   * @version 1.0.0
+   */
+  private static final class ParsedTestCase {
+    
+    /**
+     * Marks the end of the solve queue.
+     */
+    static final ParsedTestCase END = new ParsedTestCase(0, null);
+    
+    /**
+     * The number of the test case.
+     */
+    final int number;
+    /**
+     * The text of the test case.
+     */
+    final String text;
+    
+    /**
+     * Constructs a {@code ParsedTestCase}.
+     * 
+     * @param number
+     *          The number of the test case.
+     * @param text
+     *          The text of the test case.
+     */
+    ParsedTestCase(int number, String text) {
+      this.number = number;
+      this.text = text;
+    }
+  }
+  
+  /**
+   * A source of input that can be read a line at a time.
+   * 
+   * @author Scotty Boutin
+   * @version 1.0.0
+   */
+  @FunctionalInterface
+  private interface LineSource {
+    
+    /**
+     * Reads the rest of the current line.
+     * 
+     * @return The rest of the current line.
+     * @throws IOException
+     *           If an I/O error occurs.
+     */
+    String nextLine() throws IOException;
+  }
+  
+  /**
+   * The input of a single run, read through either a {@code Scanner} or a
+   * {@code CodeJamTokenizer}.
+   * 
+   * @author Scotty Boutin
+   * @version 1.0.0
+   */
+  private interface TestCaseSource extends LineSource, Closeable {
+    
+    /**
+     * Reads and solves the next test case directly from the input.
+     * 
+     * @param out
+     *          The sink that the answer of the test case is written to.
+     * @throws IOException
+     *           If an I/O error occurs.
+     */
+    void solveNext(OutputSink out) throws IOException;
+    
+    /**
+     * Reads and solves every remaining test case at once.
+     * 
+     * @param numTestCases
+     *          The number of test cases to solve.
+     * @param out
+     *          The sink that the results are written to.
+     * @throws IOException
+     *           If an I/O error occurs.
+     */
+    void solveAll(int numTestCases, OutputSink out) throws IOException;
+    
+    /**
+     * Returns the number of bytes of input consumed so far. A {@code Scanner} reads ahead of the
+     * test case it is solving, so its position is not counted.
+     * 
+     * @return The position in the input, or -1 if it is not counted.
+     */
+    long position();
+  }
+  
+  /**
+   * A {@code CountingOutputSink} counts the characters appended to the sink it wraps.
+   * 
+   * @author Scotty Boutin
+   * @version 1.0.0
+   */
+  private static final class CountingOutputSink implements OutputSink {
+    
+    /**
+     * The sink being counted.
+     */
+    private final OutputSink delegate;
+    /**
+     * The number of characters appended so far.
+     */
+    long count;
+    
+    /**
+     * Creates a {@code CountingOutputSink} over the given sink.
+     * 
+     * @param delegate
+     *          The sink being counted.
+     */
+    CountingOutputSink(OutputSink delegate) {
+      this.delegate = delegate;
+    }
+    
+    @Override
+    public CountingOutputSink append(CharSequence csq) throws IOException {
+      delegate.append(csq);
+      count += csq.length();
+      return this;
+    }
+    
+    @Override
+    public CountingOutputSink append(CharSequence csq, int start, int end) throws IOException {
+      delegate.append(csq, start, end);
+      count += end - start;
+      return this;
+    }
+    
+    @Override
+    public CountingOutputSink append(char c) throws IOException {
+      delegate.append(c);
+      count++;
+      return this;
+    }
+    
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
 }
@@ -0,0 +1,73 @@
+package googlecodejam;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@code MappedFileByteSource} supplies the bytes of a file by memory-mapping it one window at a
+ * time. Each window is handed to the {@code CodeJamTokenizer} directly, so the file's contents are
+ * never copied into an intermediate buffer, and files larger than a single mapping (2 GiB) can be
+ * read.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+final class MappedFileByteSource implements ByteSource {
+  
+  /**
+   * The channel of the file being read.
+   */
+  private final FileChannel channel;
+  /**
+   * The size of the file, in bytes, when it was opened.
+   */
+  private final long size;
+  /**
+   * The maximum size of each mapped window, in bytes.
+   */
+  private final int windowSize;
+  /**
+   * The offset in the file of the next window.
+   */
+  private long position;
+  
+  /**
+   * Opens a file to be read in mapped windows of the given size.
+   * 
+   * @param file The file being read.
+   * @param windowSize The maximum size of each mapped window, in bytes.
+   * @throws IOException If the file cannot be opened.
+   */
+  MappedFileByteSource(Path file, int windowSize) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowSize = windowSize;
+  }
+  
+  /**
+   * Maps the next window of the file.
+   */
+  @Override
+  public ByteBuffer next() throws IOException {
+    if (position >= size) {
+      return null;
+    }
+    long length = Math.min(windowSize, size - position);
+    ByteBuffer window = channel.map(MapMode.READ_ONLY, position, length);
+    position += length;
+    return window;
+  }
+  
+  /**
+   * Closes the file's channel. Windows that have already been mapped remain valid until they are
+   * garbage collected.
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,99 @@
+package googlecodejam;
+
+import java.io.IOException;
+
+/**
+ * A {@code MemoryOutputSink} keeps everything appended to it in memory. It is mainly intended for
+ * tests, which can run a solver and then compare {@link #getContents()} against the expected
+ * results. It is also used to buffer each answer when solving in parallel.
+ * <p>
+ * Flushing and closing a {@code MemoryOutputSink} do nothing, so its contents remain available
+ * after a solver has finished with it.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class MemoryOutputSink implements OutputSink {
+  
+  /**
+   * The characters appended so far.
+   */
+  private final StringBuilder contents = new StringBuilder();
+  
+  /**
+   * Creates an empty {@code MemoryOutputSink}.
+   */
+  public MemoryOutputSink() {
+  }
+  
+  @Override
+  public MemoryOutputSink append(CharSequence csq) {
+    contents.append(csq);
+    return this;
+  }
+  
+  @Override
+  public MemoryOutputSink append(CharSequence csq, int start, int end) {
+    contents.append(csq, start, end);
+    return this;
+  }
+  
+  @Override
+  public MemoryOutputSink append(char c) {
+    contents.append(c);
+    return this;
+  }
+  
+  /**
+   * Does nothing, as there is nothing to flush.
+   */
+  @Override
+  public void flush() {
+  }
+  
+  /**
+   * Does nothing, so that the contents remain available.
+   */
+  @Override
+  public void close() {
+  }
+  
+  /**
+   * Returns the number of characters appended to this sink so far.
+   * 
+   * @return The length of the contents of this sink.
+   */
+  public int length() {
+    return contents.length();
+  }
+  
+  /**
+   * Appends everything appended to this sink so far to another sink, without copying it into an
+   * intermediate {@code String}.
+   * 
+   * @param out The sink being written to.
+   * @throws IOException If an I/O error occurs.
+   */
+  public void writeTo(OutputSink out) throws IOException {
+    out.append(contents);
+  }
+  
+  /**
+   * Returns everything appended to this sink so far.
+   * 
+   * @return The contents of this sink.
+   */
+  public String getContents() {
+    return contents.toString();
+  }
+  
+  /**
+   * Returns everything appended to this sink so far.
+   * 
+   * @return The contents of this sink.
+   */
+  @Override
+  public String toString() {
+    return getContents();
+  }
+}
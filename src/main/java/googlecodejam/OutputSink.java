@@ -0,0 +1,108 @@
+package googlecodejam;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * An {@code OutputSink} is the destination of a Code Jam's results. A {@code GoogleCodeJamSolver}
+ * appends each test case's result to its sink in a single pass, and flushes the sink once every
+ * test case has been written.
+ * <p>
+ * Sinks for the standard targets are created by {@link #open(OutputTarget, Path, int)}, and can be
+ * made asynchronous by {@link #asynchronous(OutputSink, int)} so that appending a result never waits
+ * on file or terminal I/O. A {@link MemoryOutputSink} keeps the results in memory, which is useful
+ * for tests.
+ * <p>
+ * Unless otherwise noted, an {@code OutputSink} is not safe for use by multiple threads.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ * @see SolverOptions.Builder#output(OutputSink)
+ */
+public interface OutputSink extends Appendable, Flushable, Closeable {
+  
+  @Override
+  OutputSink append(CharSequence csq) throws IOException;
+  
+  @Override
+  OutputSink append(CharSequence csq, int start, int end) throws IOException;
+  
+  @Override
+  OutputSink append(char c) throws IOException;
+  
+  /**
+   * Appends bytes of ASCII text, each as a single character. A solver that formats its results
+   * into a byte array itself can hand them over with this, without building a {@code String}. The
+   * default implementation decodes the bytes as ISO-8859-1, and appends the result.
+   * 
+   * @param bytes The array holding the text.
+   * @param offset The index of the first byte to append.
+   * @param length The number of bytes to append.
+   * @return This {@code OutputSink}.
+   * @throws IOException If an I/O error occurs.
+   */
+  default OutputSink appendAscii(byte[] bytes, int offset, int length) throws IOException {
+    return append(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+  }
+  
+  /**
+   * Appends the system line separator.
+   * 
+   * @return This {@code OutputSink}.
+   * @throws IOException If an I/O error occurs.
+   */
+  default OutputSink newLine() throws IOException {
+    return append(System.lineSeparator());
+  }
+  
+  /**
+   * Opens a sink for one of the standard targets. The characters are encoded with the default
+   * charset into a direct buffer of the given size, which is written to the file and/or the console
+   * whenever it fills, and when the sink is flushed. Closing the sink closes the file, but never the
+   * console.
+   * 
+   * @param target Where the results are written.
+   * @param file The file that results are written to, if the target includes a file.
+   * @param bufferSize The size of the direct buffer, in bytes.
+   * @return A new, synchronous {@code OutputSink}.
+   * @throws IOException If the file cannot be opened.
+   */
+  static OutputSink open(OutputTarget target, Path file, int bufferSize) throws IOException {
+    return ChannelOutputSink.open(target, file, bufferSize);
+  }
+  
+  /**
+   * Opens a sink that writes to an {@code OutputStream}. The characters are encoded with the
+   * default charset into a direct buffer of the given size, which is written to the stream whenever
+   * it fills, and when the sink is flushed. Closing the sink does not close the stream.
+   * 
+   * @param out The stream that results are written to.
+   * @param bufferSize The size of the direct buffer, in bytes.
+   * @return A new, synchronous {@code OutputSink}.
+   */
+  static OutputSink of(OutputStream out, int bufferSize) {
+    return new ChannelOutputSink(Collections.singletonList(Channels.newChannel(out)),
+                                 Collections.emptyList(), bufferSize);
+  }
+  
+  /**
+   * Wraps a sink so that its I/O happens on a background thread. Appended characters are collected
+   * into chunks, and full chunks are handed to the background thread through a bounded queue of the
+   * given capacity. Appending only waits if that queue is full. Flushing waits until every chunk has
+   * been written and the wrapped sink has been flushed. Closing the returned sink closes the wrapped
+   * sink.
+   * 
+   * @param delegate The sink that is written to on the background thread.
+   * @param queueCapacity The maximum number of full chunks waiting to be written.
+   * @return An asynchronous {@code OutputSink}.
+   */
+  static OutputSink asynchronous(OutputSink delegate, int queueCapacity) {
+    return new AsyncOutputSink(delegate, queueCapacity);
+  }
+}
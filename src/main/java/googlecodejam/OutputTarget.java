@@ -0,0 +1,44 @@
+package googlecodejam;
+
+/**
+ * The standard places that a {@code GoogleCodeJamSolver} writes its results to. A custom
+ * destination, such as a {@link MemoryOutputSink}, can be used instead by giving the solver an
+ * {@code OutputSink} directly.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ * @see SolverOptions.Builder#output(OutputTarget)
+ */
+public enum OutputTarget {
+  
+  /**
+   * Write results only to the solution file.
+   */
+  FILE,
+  /**
+   * Write results only to the console.
+   */
+  CONSOLE,
+  /**
+   * Write results to both the solution file and the console.
+   */
+  BOTH;
+  
+  /**
+   * Returns whether this target includes the solution file.
+   * 
+   * @return {@code true} if results are written to the solution file.
+   */
+  boolean includesFile() {
+    return this != CONSOLE;
+  }
+  
+  /**
+   * Returns whether this target includes the console.
+   * 
+   * @return {@code true} if results are written to the console.
+   */
+  boolean includesConsole() {
+    return this != FILE;
+  }
+}
@@ -0,0 +1,276 @@
+package googlecodejam;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code PipelineStatistics} reports, while a parallel run is in progress and after it has
+ * finished, how busy each stage of the solver's pipeline is. A parallel run has three stages:
+ * <ol>
+ * <li>The parse stage reads the input and splits it into the raw text of each test case.
+ * <li>The solve stage is a pool of workers, each solving one test case at a time.
+ * <li>The emit stage writes the results in "Case #n" order.
+ * </ol>
+ * The stages are joined by bounded queues: the solve queue, holding parsed test cases waiting for
+ * a worker, and the reorder window, holding results waiting for the cases before them.
+ * <p>
+ * The slowest stage shows up as the one with the highest utilization, and the queue in front of it
+ * stays full. A parse-bound problem keeps the solve queue nearly empty, with idle workers; a
+ * solve-bound problem keeps the solve queue full, with the parse stage mostly waiting for room.
+ * <p>
+ * Pass an instance to {@link SolverOptions.Builder#statistics(PipelineStatistics)}. Its methods may
+ * be called from any thread. An instance may be reused, in which case it is reset at the start of
+ * each run.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class PipelineStatistics {
+  
+  /**
+   * The time, in nanoseconds, that the parse stage has spent reading test cases.
+   */
+  private final LongAdder parseNanos = new LongAdder();
+  /**
+   * The time, in nanoseconds, that all workers together have spent solving test cases.
+   */
+  private final LongAdder solveNanos = new LongAdder();
+  /**
+   * The time, in nanoseconds, that the emit stage has spent writing results.
+   */
+  private final LongAdder emitNanos = new LongAdder();
+  /**
+   * The number of test cases that have been parsed.
+   */
+  private final LongAdder casesParsed = new LongAdder();
+  /**
+   * The number of test cases that have been solved.
+   */
+  private final LongAdder casesSolved = new LongAdder();
+  /**
+   * The number of test cases that have been written.
+   */
+  private final LongAdder casesEmitted = new LongAdder();
+  /**
+   * The queue of parsed test cases of the current run.
+   */
+  private volatile BlockingQueue<?> solveQueue;
+  /**
+   * The reorder window of the current run.
+   */
+  private volatile ReorderWindow reorderWindow;
+  /**
+   * The number of solve workers of the current run.
+   */
+  private volatile int solveWorkers;
+  /**
+   * The value of {@link System#nanoTime()} when the current run started.
+   */
+  private volatile long startNanos;
+  /**
+   * The value of {@link System#nanoTime()} when the current run finished, or 0 if it is in progress.
+   */
+  private volatile long finishNanos;
+  
+  /**
+   * Resets these statistics for the start of a run.
+   * 
+   * @param solveQueue The queue of parsed test cases.
+   * @param reorderWindow The window that results are reordered in.
+   * @param solveWorkers The number of solve workers.
+   */
+  void start(BlockingQueue<?> solveQueue, ReorderWindow reorderWindow, int solveWorkers) {
+    parseNanos.reset();
+    solveNanos.reset();
+    emitNanos.reset();
+    casesParsed.reset();
+    casesSolved.reset();
+    casesEmitted.reset();
+    this.solveQueue = solveQueue;
+    this.reorderWindow = reorderWindow;
+    this.solveWorkers = solveWorkers;
+    this.finishNanos = 0;
+    this.startNanos = System.nanoTime();
+  }
+  
+  /**
+   * Records the end of a run.
+   */
+  void finish() {
+    finishNanos = System.nanoTime();
+  }
+  
+  /**
+   * Records that a test case has been parsed.
+   * 
+   * @param nanos The time spent parsing it.
+   */
+  void recordParse(long nanos) {
+    parseNanos.add(nanos);
+    casesParsed.increment();
+  }
+  
+  /**
+   * Records that a test case has been solved.
+   * 
+   * @param nanos The time spent solving it.
+   */
+  void recordSolve(long nanos) {
+    solveNanos.add(nanos);
+    casesSolved.increment();
+  }
+  
+  /**
+   * Records that a result has been written.
+   * 
+   * @param nanos The time spent writing it.
+   */
+  void recordEmit(long nanos) {
+    emitNanos.add(nanos);
+    casesEmitted.increment();
+  }
+  
+  /**
+   * Returns the number of parsed test cases waiting for a solve worker.
+   * 
+   * @return The depth of the solve queue, or 0 if no run has started.
+   */
+  public int getSolveQueueDepth() {
+    BlockingQueue<?> queue = solveQueue;
+    return queue == null ? 0 : queue.size();
+  }
+  
+  /**
+   * Returns the number of parsed test cases that may wait for a solve worker.
+   * 
+   * @return The capacity of the solve queue, or 0 if no run has started.
+   */
+  public int getSolveQueueCapacity() {
+    BlockingQueue<?> queue = solveQueue;
+    return queue == null ? 0 : queue.size() + queue.remainingCapacity();
+  }
+  
+  /**
+   * Returns the number of results that are waiting for the results of earlier test cases.
+   * 
+   * @return The depth of the reorder window, or 0 if no run has started.
+   */
+  public int getReorderWindowDepth() {
+    ReorderWindow window = reorderWindow;
+    return window == null ? 0 : window.size();
+  }
+  
+  /**
+   * Returns the number of consecutive test cases the reorder window holds.
+   * 
+   * @return The capacity of the reorder window, or 0 if no run has started.
+   */
+  public int getReorderWindowCapacity() {
+    ReorderWindow window = reorderWindow;
+    return window == null ? 0 : window.capacity();
+  }
+  
+  /**
+   * Returns the number of solve workers.
+   * 
+   * @return The number of solve workers, or 0 if no run has started.
+   */
+  public int getSolveWorkers() {
+    return solveWorkers;
+  }
+  
+  /**
+   * Returns the number of test cases that have been parsed.
+   * 
+   * @return The number of parsed test cases.
+   */
+  public long getCasesParsed() {
+    return casesParsed.sum();
+  }
+  
+  /**
+   * Returns the number of test cases that have been solved.
+   * 
+   * @return The number of solved test cases.
+   */
+  public long getCasesSolved() {
+    return casesSolved.sum();
+  }
+  
+  /**
+   * Returns the number of results that have been written.
+   * 
+   * @return The number of written results.
+   */
+  public long getCasesEmitted() {
+    return casesEmitted.sum();
+  }
+  
+  /**
+   * Returns the time since the run started, or the length of the run if it has finished.
+   * 
+   * @return The elapsed time, in nanoseconds, or 0 if no run has started.
+   */
+  public long getElapsedNanos() {
+    long start = startNanos;
+    if (start == 0) {
+      return 0;
+    }
+    long finish = finishNanos;
+    return (finish == 0 ? System.nanoTime() : finish) - start;
+  }
+  
+  /**
+   * Returns the fraction of the elapsed time that the parse stage has spent reading input, rather
+   * than waiting for room in the solve queue.
+   * 
+   * @return The utilization of the parse stage, between 0 and 1.
+   */
+  public double getParseUtilization() {
+    return utilization(parseNanos.sum(), 1);
+  }
+  
+  /**
+   * Returns the fraction of the elapsed time that the solve workers have spent solving, averaged
+   * over every worker.
+   * 
+   * @return The utilization of the solve stage, between 0 and 1.
+   */
+  public double getSolveUtilization() {
+    return utilization(solveNanos.sum(), solveWorkers);
+  }
+  
+  /**
+   * Returns the fraction of the elapsed time that the emit stage has spent writing results, rather
+   * than waiting for them.
+   * 
+   * @return The utilization of the emit stage, between 0 and 1.
+   */
+  public double getEmitUtilization() {
+    return utilization(emitNanos.sum(), 1);
+  }
+  
+  /**
+   * Divides the busy time of a stage by the time its threads have been available.
+   * 
+   * @param busyNanos The total busy time of the stage's threads.
+   * @param threads The number of threads in the stage.
+   * @return The utilization of the stage, between 0 and 1.
+   */
+  private double utilization(long busyNanos, int threads) {
+    long available = getElapsedNanos() * threads;
+    return available <= 0 ? 0 : Math.min(1, (double) busyNanos / available);
+  }
+  
+  /**
+   * Returns a one-line summary of these statistics.
+   */
+  @Override
+  public String toString() {
+    return String.format("parse %.0f%% (%d cases) | solve queue %d/%d | solve %.0f%% x%d (%d cases)"
+                         + " | reorder window %d/%d | emit %.0f%% (%d cases)",
+      100 * getParseUtilization(), getCasesParsed(), getSolveQueueDepth(), getSolveQueueCapacity(),
+      100 * getSolveUtilization(), getSolveWorkers(), getCasesSolved(), getReorderWindowDepth(),
+      getReorderWindowCapacity(), 100 * getEmitUtilization(), getCasesEmitted());
+  }
+}
@@ -0,0 +1,129 @@
+package googlecodejam;
+
+/**
+ * A {@code ReorderWindow} puts the results of test cases that finish solving in any order back into
+ * "Case #n" order. Results are put by the solve workers and taken, in order, by the emit stage.
+ * <p>
+ * The window holds a fixed number of consecutive case numbers, starting at the next case to be
+ * taken. A worker that finishes a case beyond the end of the window waits until the emit stage has
+ * caught up, so a single slow case cannot cause an unbounded number of later results to build up.
+ * This never deadlocks, because workers take cases in order: the next case to be taken is always
+ * inside the window, and can always be put.
+ * <p>
+ * A result is either the buffered answer of a case, or the {@code Throwable} thrown while reading
+ * or solving it, which the emit stage rethrows when it reaches that case.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+final class ReorderWindow {
+  
+  /**
+   * The results in the window, indexed by case number modulo the capacity. A {@code null} slot has
+   * not been put yet.
+   */
+  private final Object[] results;
+  /**
+   * The number of the next case to be taken.
+   */
+  private int next = 1;
+  /**
+   * The number of results that have been put but not taken.
+   */
+  private int size;
+  /**
+   * Whether the run has been abandoned.
+   */
+  private boolean aborted;
+  
+  /**
+   * Constructs an empty {@code ReorderWindow}, starting at case 1.
+   * 
+   * @param capacity The number of consecutive cases the window holds.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   */
+  ReorderWindow(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Window capacity must be positive: " + capacity);
+    }
+    this.results = new Object[capacity];
+  }
+  
+  /**
+   * Puts the result of a case, waiting until the case is inside the window. If the run has been
+   * {@linkplain #abort() aborted}, the result is discarded.
+   * 
+   * @param testNum The number of the case.
+   * @param result The buffered answer of the case, or the {@code Throwable} it threw.
+   * @throws InterruptedException If this thread is interrupted while waiting.
+   */
+  synchronized void put(int testNum, Object result) throws InterruptedException {
+    while (!aborted && testNum >= next + results.length) {
+      wait();
+    }
+    if (aborted) {
+      return;
+    }
+    results[testNum % results.length] = result;
+    size++;
+    notifyAll();
+  }
+  
+  /**
+   * Takes the result of the next case, waiting until it has been put.
+   * 
+   * @return The buffered answer of the next case, or the {@code Throwable} it threw.
+   * @throws InterruptedException If this thread is interrupted while waiting.
+   * @throws IllegalStateException If the run has been aborted.
+   */
+  synchronized Object take() throws InterruptedException {
+    int slot = next % results.length;
+    while (results[slot] == null) {
+      if (aborted) {
+        throw new IllegalStateException("Run has been aborted");
+      }
+      wait();
+    }
+    Object result = results[slot];
+    results[slot] = null;
+    next++;
+    size--;
+    notifyAll();
+    return result;
+  }
+  
+  /**
+   * Abandons the run. Every waiting thread is woken, and later results are discarded.
+   */
+  synchronized void abort() {
+    aborted = true;
+    notifyAll();
+  }
+  
+  /**
+   * Returns whether the run has been abandoned.
+   * 
+   * @return {@code true} if {@link #abort()} has been called.
+   */
+  synchronized boolean isAborted() {
+    return aborted;
+  }
+  
+  /**
+   * Returns the number of results that have been put but not yet taken.
+   * 
+   * @return The number of results in the window.
+   */
+  synchronized int size() {
+    return size;
+  }
+  
+  /**
+   * Returns the number of consecutive cases the window holds.
+   * 
+   * @return The capacity of the window.
+   */
+  int capacity() {
+    return results.length;
+  }
+}
@@ -0,0 +1,130 @@
+package googlecodejam;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * A {@code SolverClient} sends a Code Jam to a running {@link SolverDaemon} and copies the results
+ * back, so that a warm daemon can be used from a shell pipeline in place of a solver's
+ * {@code main} method:
+ * <p>
+ * {@code java googlecodejam.SolverClient googlecodejam.eggdrop.EggDropCodeJamSolver < C-large.in}
+ * <p>
+ * Unlike a solver's {@code main} method, the results are only written to {@code System.out}.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class SolverClient {
+  
+  /**
+   * The argument that, when given before a port number, connects to a daemon on that port instead
+   * of {@value SolverDaemon#DEFAULT_PORT}.
+   */
+  public static final String PORT_ARGUMENT = "--port";
+  
+  /**
+   * The size, in bytes, of the buffer used to send input.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+  
+  /**
+   * Not instantiable.
+   */
+  private SolverClient() {
+  }
+  
+  /**
+   * Solves a Code Jam on the daemon listening on the given port of the loopback interface. The
+   * input is sent on a separate thread while the results are read, so that neither side waits on
+   * the other however large the input and results are.
+   * 
+   * @param port The port of the daemon.
+   * @param solverClass The fully qualified name of the solver class.
+   * @param input The input of the Code Jam. It is not closed.
+   * @param output The stream that the results are copied to. It is flushed, but not closed.
+   * @throws IOException If the daemon cannot be reached, or reports that the request failed.
+   */
+  public static void solve(int port, String solverClass, InputStream input, OutputStream output)
+      throws IOException {
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      OutputStream request = socket.getOutputStream();
+      request.write((solverClass + "\n").getBytes(StandardCharsets.US_ASCII));
+      Thread sender = new Thread(() -> send(input, socket), "codejam-client-sender");
+      sender.setDaemon(true);
+      sender.start();
+      BufferedReader response = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+        StandardCharsets.ISO_8859_1));
+      Writer results = new OutputStreamWriter(output, StandardCharsets.ISO_8859_1);
+      for (String line = response.readLine(); line != null; line = response.readLine()) {
+        if (line.startsWith(SolverDaemon.ERROR_PREFIX)) {
+          results.flush();
+          throw new IOException(line.substring(SolverDaemon.ERROR_PREFIX.length()));
+        }
+        results.write(line);
+        results.write(System.lineSeparator());
+      }
+      results.flush();
+    }
+  }
+  
+  /**
+   * Sends the input of a request, then shuts down the sending side of its connection. Errors are
+   * ignored, as the daemon may close the connection without reading input it does not need.
+   * 
+   * @param input The input of the Code Jam.
+   * @param socket The connection of the request.
+   */
+  private static void send(InputStream input, Socket socket) {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try {
+      OutputStream request = socket.getOutputStream();
+      for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+        request.write(buffer, 0, read);
+      }
+      socket.shutdownOutput();
+    } catch (IOException e) {
+      // The daemon has finished with the connection.
+    }
+  }
+  
+  /**
+   * Runs the {@code SolverClient} application.
+   * 
+   * @param args Optionally {@value #PORT_ARGUMENT} and a port, then the fully qualified name of the
+   *          solver class, then optionally the name of an input file. If no file is provided, this
+   *          application reads its input from {@code System.in}.
+   * @throws IOException If an I/O error occurs.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = SolverDaemon.DEFAULT_PORT;
+    int next = 0;
+    if (args.length > 1 && args[0].equals(PORT_ARGUMENT)) {
+      port = Integer.parseInt(args[1]);
+      next = 2;
+    }
+    if (args.length <= next) {
+      System.err.println("Usage: SolverClient [--port <port>] <solver class> [input file]");
+      System.exit(2);
+    }
+    String solverClass = args[next];
+    boolean fromFile = args.length > next + 1;
+    try (InputStream input = fromFile ? Files.newInputStream(Paths.get(args[next + 1]))
+                                      : System.in) {
+      solve(port, solverClass, input, System.out);
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package googlecodejam;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@code SolverDaemon} is a long-lived process that solves Code Jams sent to it over a loopback
+ * socket, so that neither JVM start-up nor the construction of a solver, such as the tables built
+ * by the {@code EggDropCodeJamSolver}, is paid for each input. Each solver class is instantiated
+ * once, on its first request, and that warm instance serves every later request for it.
+ * <p>
+ * The protocol is a single request and response per connection:
+ * <ol>
+ * <li>The client sends a header line holding the fully qualified name of the solver class, which
+ * must have a public no-argument constructor.
+ * <li>The client sends the input of the Code Jam, exactly as it would be given to the solver's
+ * {@code main} method.
+ * <li>The daemon streams back the results as they are solved, in the same format as
+ * {@code solution.txt}, and closes the connection.
+ * </ol>
+ * If the request fails, the daemon ends the response with a line starting with
+ * {@value #ERROR_PREFIX}, followed by the reason. {@link SolverClient} is a thin client for this
+ * protocol.
+ * <p>
+ * Connections are served concurrently, so, as with the {@code BatchSolver}, a solver's solve
+ * methods must not modify state shared between test cases. The daemon only listens on the loopback
+ * interface.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class SolverDaemon implements Closeable {
+  
+  /**
+   * The default port that the daemon listens on.
+   */
+  public static final int DEFAULT_PORT = 47_031;
+  /**
+   * The start of the line that ends a failed response.
+   */
+  public static final String ERROR_PREFIX = "#error: ";
+  
+  /**
+   * The size, in bytes, of the buffer that each response is encoded into.
+   */
+  private static final int RESPONSE_BUFFER_SIZE = 1 << 16;
+  /**
+   * The maximum length, in bytes, of a header line.
+   */
+  private static final int MAX_HEADER_LENGTH = 1 << 10;
+  
+  /**
+   * The socket that connections are accepted on.
+   */
+  private final ServerSocket serverSocket;
+  /**
+   * The threads that connections are served on.
+   */
+  private final ExecutorService connections;
+  /**
+   * The warm solver instances, by class name.
+   */
+  private final ConcurrentMap<String, GoogleCodeJamSolver> solvers = new ConcurrentHashMap<>();
+  
+  /**
+   * Creates a {@code SolverDaemon} listening on the given port of the loopback interface. It does
+   * not accept connections until {@link #serve()} is called.
+   * 
+   * @param port The port to listen on, or 0 for any free port.
+   * @throws IOException If the port cannot be bound.
+   */
+  public SolverDaemon(int port) throws IOException {
+    this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    this.connections = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "codejam-daemon-connection");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+  
+  /**
+   * Returns the port that this daemon listens on.
+   * 
+   * @return The local port of this daemon.
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+  
+  /**
+   * Accepts connections, serving each one on its own thread, until this daemon is closed.
+   * 
+   * @throws IOException If a connection cannot be accepted for a reason other than this daemon
+   *           being closed.
+   */
+  public void serve() throws IOException {
+    while (!serverSocket.isClosed()) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (SocketException e) {
+        if (serverSocket.isClosed()) {
+          return;
+        }
+        throw e;
+      }
+      connections.execute(() -> handle(socket));
+    }
+  }
+  
+  /**
+   * Stops accepting connections. Requests already in progress are allowed to finish.
+   * 
+   * @throws IOException If an I/O error occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    connections.shutdown();
+  }
+  
+  /**
+   * Returns the warm instance of a solver class, creating it on the first request for that class.
+   * 
+   * @param className The fully qualified name of the solver class.
+   * @return The instance of the solver class.
+   * @throws IllegalArgumentException If the class is not a solver with a public no-argument
+   *           constructor.
+   */
+  GoogleCodeJamSolver solverFor(String className) {
+    return solvers.computeIfAbsent(className, BatchSolver::newSolver);
+  }
+  
+  /**
+   * Serves a single request, then closes its connection.
+   * 
+   * @param socket The connection of the request.
+   */
+  private void handle(Socket socket) {
+    try (Socket connection = socket) {
+      InputStream in = connection.getInputStream();
+      OutputStream out = connection.getOutputStream();
+      OutputSink sink = OutputSink.of(out, RESPONSE_BUFFER_SIZE);
+      try {
+        GoogleCodeJamSolver solver = solverFor(readHeader(in));
+        solver.go(SolverOptions.builder().input(in).output(sink).build());
+      } catch (IOException | RuntimeException | Error e) {
+        // Errors such as a solver's ExceptionInInitializerError or
+        // StackOverflowError are reported too, or the client would take the
+        // cut-off output as a complete answer.
+        sink.newLine().append(ERROR_PREFIX).append(String.valueOf(e)).newLine();
+        sink.flush();
+      }
+    } catch (IOException e) {
+      // The client went away; there is nobody left to report this to.
+    }
+  }
+  
+  /**
+   * Reads the header line of a request, one byte at a time so that none of the input that follows
+   * it is consumed.
+   * 
+   * @param in The stream of the request.
+   * @return The header line, without its line separator.
+   * @throws IOException If the header is missing or too long.
+   */
+  private static String readHeader(InputStream in) throws IOException {
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    for (int next = in.read(); next != '\n'; next = in.read()) {
+      if (next < 0) {
+        throw new IOException("Request ended before its header");
+      }
+      if (header.size() == MAX_HEADER_LENGTH) {
+        throw new IOException("Request header is too long");
+      }
+      header.write(next);
+    }
+    return new String(header.toByteArray(), StandardCharsets.US_ASCII).trim();
+  }
+  
+  /**
+   * Runs the {@code SolverDaemon} application.
+   * 
+   * @param args Can optionally contain the port to listen on. If none is provided, the daemon
+   *          listens on {@value #DEFAULT_PORT}.
+   * @throws IOException If the port cannot be bound.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    try (SolverDaemon daemon = new SolverDaemon(port)) {
+      System.err.println("Solver daemon listening on "
+                         + daemon.serverSocket.getLocalSocketAddress());
+      daemon.serve();
+    }
+  }
+}
@@ -0,0 +1,710 @@
+package googlecodejam;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@code SolverOptions} holds the settings that control how a {@code GoogleCodeJamSolver} runs a
+ * Code Jam: where its input comes from, and whether its test cases are solved one after another on
+ * the calling thread or concurrently on an {@code Executor}.
+ * <p>
+ * {@code SolverOptions} are immutable, and are created using a {@link Builder}. The options that
+ * correspond to the arguments of a subclass's {@code main} method can be created using
+ * {@link #fromArguments(String...)}.
+ * <p>
+ * Input is read from one of four places: a classpath resource, a file on the local filesystem, a
+ * given stream, or {@code System.in}. A file is memory-mapped in windows of {@link #getMapWindowSize()} bytes when
+ * the solver {@linkplain GoogleCodeJamSolver#usesTokenizer() reads through a tokenizer}, or when
+ * solving in parallel, which lets very large inputs be read without copying them into
+ * intermediate buffers.
+ * <p>
+ * When solving in parallel, a run is a pipeline of three stages: the input is parsed into test
+ * cases on a dedicated thread, a number of {@linkplain #getSolveWorkers() solve workers} on the
+ * {@code Executor} solve them, and the calling thread writes the results in order. Each pair of
+ * stages is joined by a bounded queue, so memory use does not grow with the number of test cases.
+ * <p>
+ * By default, results are written to both the console and the file {@code solution.txt}, on a
+ * background thread, so that solving never waits on terminal I/O.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ * @see GoogleCodeJamSolver#go(SolverOptions)
+ */
+public final class SolverOptions {
+  
+  /**
+   * The default number of consecutive test cases whose results may be held while waiting for an
+   * earlier test case to finish solving.
+   */
+  public static final int DEFAULT_MAX_PENDING_CASES = 64;
+  /**
+   * The default number of parsed test cases that may wait for a solve worker.
+   */
+  public static final int DEFAULT_SOLVE_QUEUE_CAPACITY = 64;
+  /**
+   * The default maximum size, in bytes, of each window of a memory-mapped input file.
+   */
+  public static final int DEFAULT_MAP_WINDOW_SIZE = 1 << 26;
+  /**
+   * The argument that, when given before a file path to {@link #fromArguments(String...)}, reads
+   * input from that file on the local filesystem instead of from a classpath resource.
+   */
+  public static final String MAPPED_FILE_ARGUMENT = "--mmap";
+  /**
+   * The argument that, when given to {@link #fromArguments(String...)}, records
+   * {@linkplain CaseStatistics statistics} for each test case and prints a summary when the run
+   * finishes.
+   */
+  public static final String INSTRUMENT_ARGUMENT = "--instrument";
+  /**
+   * The default file that results are written to.
+   */
+  public static final Path DEFAULT_OUTPUT_FILE = Paths.get("solution.txt");
+  /**
+   * The default size, in bytes, of the direct buffer that results are encoded into.
+   */
+  public static final int DEFAULT_OUTPUT_BUFFER_SIZE = 1 << 20;
+  /**
+   * The default number of full chunks of results that may wait for the background writer thread.
+   */
+  public static final int DEFAULT_OUTPUT_QUEUE_CAPACITY = 16;
+  
+  /**
+   * The name of the classpath resource that input is read from, or {@code null} if input is read
+   * from {@code System.in}.
+   */
+  private final String resourceName;
+  /**
+   * The file on the local filesystem that input is read from, or {@code null} if input is not read
+   * from a file.
+   */
+  private final Path file;
+  /**
+   * The stream that input is read from, or {@code null} if input is not read from a given stream.
+   */
+  private final InputStream inputStream;
+  /**
+   * The maximum size of each window of a memory-mapped input file.
+   */
+  private final int mapWindowSize;
+  /**
+   * The {@code Executor} that test cases are solved on, or {@code null} if test cases are solved
+   * sequentially on the calling thread.
+   */
+  private final Executor executor;
+  /**
+   * The number of workers that solve test cases on the {@code Executor}.
+   */
+  private final int solveWorkers;
+  /**
+   * The number of parsed test cases that may wait for a solve worker.
+   */
+  private final int solveQueueCapacity;
+  /**
+   * The maximum number of consecutive test cases whose results may be held until they are written.
+   */
+  private final int maxPendingCases;
+  /**
+   * The statistics that a parallel run reports to, or {@code null} if none are reported.
+   */
+  private final PipelineStatistics statistics;
+  /**
+   * The statistics that each test case is recorded in, or {@code null} if test cases are not
+   * instrumented.
+   */
+  private final CaseStatistics caseStatistics;
+  /**
+   * The standard target that results are written to.
+   */
+  private final OutputTarget outputTarget;
+  /**
+   * The file that results are written to, if the target includes a file.
+   */
+  private final Path outputFile;
+  /**
+   * The sink that results are written to instead of a standard target, or {@code null} to use the
+   * standard target.
+   */
+  private final OutputSink outputSink;
+  /**
+   * Whether results for a standard target are written on a background thread.
+   */
+  private final boolean asynchronousOutput;
+  /**
+   * The size of the direct buffer that results for a standard target are encoded into.
+   */
+  private final int outputBufferSize;
+  /**
+   * The number of full chunks of results that may wait for the background writer thread.
+   */
+  private final int outputQueueCapacity;
+  
+  /**
+   * Constructs a {@code SolverOptions} from the state of a {@code Builder}.
+   * 
+   * @param builder
+   *          The {@code Builder} holding the options.
+   */
+  private SolverOptions(Builder builder) {
+    this.resourceName = builder.resourceName;
+    this.file = builder.file;
+    this.inputStream = builder.inputStream;
+    this.mapWindowSize = builder.mapWindowSize;
+    this.executor = builder.executor;
+    this.solveWorkers = builder.solveWorkers;
+    this.solveQueueCapacity = builder.solveQueueCapacity;
+    this.maxPendingCases = builder.maxPendingCases;
+    this.statistics = builder.statistics;
+    this.caseStatistics = builder.caseStatistics;
+    this.outputTarget = builder.outputTarget;
+    this.outputFile = builder.outputFile;
+    this.outputSink = builder.outputSink;
+    this.asynchronousOutput = builder.asynchronousOutput;
+    this.outputBufferSize = builder.outputBufferSize;
+    this.outputQueueCapacity = builder.outputQueueCapacity;
+  }
+  
+  /**
+   * Creates a new {@code Builder} with every option set to its default value. By default, input is
+   * read from {@code System.in} and test cases are solved sequentially.
+   * 
+   * @return A new {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+  
+  /**
+   * Creates the {@code SolverOptions} that correspond to the arguments from the {@code main} method
+   * of a subclass. If an argument is provided, that resource name is used to load input. If the
+   * arguments are {@value #MAPPED_FILE_ARGUMENT} followed by a path, that file is memory-mapped and
+   * used to load input. Otherwise, {@code System.in} is used for input. Test cases are solved
+   * sequentially. If any argument is {@value #INSTRUMENT_ARGUMENT}, it is removed before the
+   * others are read, and each test case is instrumented.
+   * 
+   * @param args
+   *          The arguments from the {@code main} method of the subclass.
+   * @return The {@code SolverOptions} described by the arguments.
+   */
+  public static SolverOptions fromArguments(String... args) {
+    Builder builder = builder();
+    if (Arrays.asList(args).contains(INSTRUMENT_ARGUMENT)) {
+      builder.caseStatistics(new CaseStatistics());
+      args = Arrays.stream(args).filter(arg -> !arg.equals(INSTRUMENT_ARGUMENT)).toArray(
+        String[]::new);
+    }
+    if (args.length > 1 && args[0].equals(MAPPED_FILE_ARGUMENT)) {
+      builder.mappedFile(Paths.get(args[1]));
+    } else if (args.length > 0) {
+      builder.resource(args[0]);
+    }
+    return builder.build();
+  }
+  
+  /**
+   * Returns the name of the classpath resource that input is read from.
+   * 
+   * @return The name of the input resource, or {@code null} if input is not read from a resource.
+   */
+  public String getResourceName() {
+    return resourceName;
+  }
+  
+  /**
+   * Returns the file on the local filesystem that input is read from.
+   * 
+   * @return The input file, or {@code null} if input is not read from a file.
+   */
+  public Path getFile() {
+    return file;
+  }
+  
+  /**
+   * Returns the stream that input is read from. The solver does not close this stream.
+   * 
+   * @return The input stream, or {@code null} if input is not read from a given stream.
+   */
+  public InputStream getInputStream() {
+    return inputStream;
+  }
+  
+  /**
+   * Returns the maximum size of each window when the input file is memory-mapped.
+   * 
+   * @return The maximum size of a mapped window, in bytes.
+   */
+  public int getMapWindowSize() {
+    return mapWindowSize;
+  }
+  
+  /**
+   * Returns whether test cases are solved concurrently.
+   * 
+   * @return {@code true} if test cases are solved on an {@code Executor}, {@code false} if they are
+   *         solved sequentially on the calling thread.
+   */
+  public boolean isParallel() {
+    return executor != null;
+  }
+  
+  /**
+   * Returns the {@code Executor} that test cases are solved on.
+   * 
+   * @return The {@code Executor} that test cases are solved on, or {@code null} if test cases are
+   *         solved sequentially.
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+  
+  /**
+   * Returns the number of workers that solve test cases on the {@code Executor}. The
+   * {@code Executor} should be able to run this many tasks at once.
+   * 
+   * @return The number of solve workers.
+   */
+  public int getSolveWorkers() {
+    return solveWorkers;
+  }
+  
+  /**
+   * Returns the number of parsed test cases that may wait for a solve worker before parsing waits
+   * for the workers to catch up.
+   * 
+   * @return The capacity of the solve queue.
+   */
+  public int getSolveQueueCapacity() {
+    return solveQueueCapacity;
+  }
+  
+  /**
+   * Returns the size of the window that results are put back into order in. A test case may only
+   * finish solving this many cases ahead of the next result to be written, which bounds the memory
+   * used when one test case takes much longer than the others.
+   * 
+   * @return The maximum number of pending test cases.
+   */
+  public int getMaxPendingCases() {
+    return maxPendingCases;
+  }
+  
+  /**
+   * Returns the statistics that a parallel run reports its queue depths and stage utilization to.
+   * 
+   * @return The pipeline statistics, or {@code null} if none are reported.
+   */
+  public PipelineStatistics getStatistics() {
+    return statistics;
+  }
+  
+  /**
+   * Returns the statistics that the time, input, output and allocation of each test case are
+   * recorded in. When these are given, the solver prints a summary of them to {@code System.err}
+   * at the end of each run.
+   * 
+   * @return The case statistics, or {@code null} if test cases are not instrumented.
+   */
+  public CaseStatistics getCaseStatistics() {
+    return caseStatistics;
+  }
+  
+  /**
+   * Returns the standard target that results are written to. This is ignored if an
+   * {@linkplain #getOutputSink() output sink} is given.
+   * 
+   * @return The standard output target.
+   */
+  public OutputTarget getOutputTarget() {
+    return outputTarget;
+  }
+  
+  /**
+   * Returns the file that results are written to, if the output target includes a file.
+   * 
+   * @return The output file.
+   */
+  public Path getOutputFile() {
+    return outputFile;
+  }
+  
+  /**
+   * Returns the sink that results are written to instead of a standard target. The solver flushes
+   * this sink when it finishes, but does not close it.
+   * 
+   * @return The output sink, or {@code null} if results are written to the standard target.
+   */
+  public OutputSink getOutputSink() {
+    return outputSink;
+  }
+  
+  /**
+   * Returns whether results for a standard target are written on a background thread.
+   * 
+   * @return {@code true} if output is asynchronous.
+   */
+  public boolean isAsynchronousOutput() {
+    return asynchronousOutput;
+  }
+  
+  /**
+   * Returns the size of the direct buffer that results for a standard target are encoded into.
+   * 
+   * @return The size of the output buffer, in bytes.
+   */
+  public int getOutputBufferSize() {
+    return outputBufferSize;
+  }
+  
+  /**
+   * Returns the number of full chunks of results that may wait for the background writer thread
+   * before solving waits for it to catch up.
+   * 
+   * @return The capacity of the output queue.
+   */
+  public int getOutputQueueCapacity() {
+    return outputQueueCapacity;
+  }
+  
+  /**
+   * A {@code Builder} creates {@code SolverOptions}. Each method sets one option and returns the
+   * {@code Builder} so that calls can be chained.
+   * 
+   * @author Scotty Boutin
+   * @version 1.0.0
+   */
+  public static final class Builder {
+    
+    /**
+     * The name of the classpath resource that input is read from.
+     */
+    private String resourceName;
+    /**
+     * The file on the local filesystem that input is read from.
+     */
+    private Path file;
+    /**
+     * The stream that input is read from.
+     */
+    private InputStream inputStream;
+    /**
+     * The maximum size of each window of a memory-mapped input file.
+     */
+    private int mapWindowSize = DEFAULT_MAP_WINDOW_SIZE;
+    /**
+     * The {@code Executor} that test cases are solved on.
+     */
+    private Executor executor;
+    /**
+     * The number of workers that solve test cases.
+     */
+    private int solveWorkers = Runtime.getRuntime().availableProcessors();
+    /**
+     * The number of parsed test cases that may wait for a solve worker.
+     */
+    private int solveQueueCapacity = DEFAULT_SOLVE_QUEUE_CAPACITY;
+    /**
+     * The maximum number of pending test cases.
+     */
+    private int maxPendingCases = DEFAULT_MAX_PENDING_CASES;
+    /**
+     * The statistics that a parallel run reports to.
+     */
+    private PipelineStatistics statistics;
+    /**
+     * The statistics that each test case is recorded in.
+     */
+    private CaseStatistics caseStatistics;
+    /**
+     * The standard target that results are written to.
+     */
+    private OutputTarget outputTarget = OutputTarget.BOTH;
+    /**
+     * The file that results are written to.
+     */
+    private Path outputFile = DEFAULT_OUTPUT_FILE;
+    /**
+     * The sink that results are written to instead of a standard target.
+     */
+    private OutputSink outputSink;
+    /**
+     * Whether results for a standard target are written on a background thread.
+     */
+    private boolean asynchronousOutput = true;
+    /**
+     * The size of the direct buffer that results are encoded into.
+     */
+    private int outputBufferSize = DEFAULT_OUTPUT_BUFFER_SIZE;
+    /**
+     * The number of full chunks of results that may wait for the background writer thread.
+     */
+    private int outputQueueCapacity = DEFAULT_OUTPUT_QUEUE_CAPACITY;
+    
+    /**
+     * Creates a {@code Builder} with every option set to its default value.
+     */
+    private Builder() {
+    }
+    
+    /**
+     * Reads input from the classpath resource with the given name.
+     * 
+     * @param resourceName
+     *          The name of the resource that input is read from.
+     * @return This {@code Builder}.
+     */
+    public Builder resource(String resourceName) {
+      this.resourceName = Objects.requireNonNull(resourceName);
+      this.file = null;
+      this.inputStream = null;
+      return this;
+    }
+    
+    /**
+     * Reads input from the given file on the local filesystem, instead of from a classpath resource.
+     * If the solver reads through a tokenizer, the file is memory-mapped one window at a time and
+     * the tokenizer reads the mapped windows directly.
+     * 
+     * @param file
+     *          The file that input is read from.
+     * @return This {@code Builder}.
+     */
+    public Builder mappedFile(Path file) {
+      this.file = Objects.requireNonNull(file);
+      this.resourceName = null;
+      this.inputStream = null;
+      return this;
+    }
+    
+    /**
+     * Reads input from the given stream, such as a socket, instead of from a resource or file. The
+     * solver reads only as much of the stream as the test cases need, and does not close it.
+     * 
+     * @param inputStream
+     *          The stream that input is read from.
+     * @return This {@code Builder}.
+     */
+    public Builder input(InputStream inputStream) {
+      this.inputStream = Objects.requireNonNull(inputStream);
+      this.resourceName = null;
+      this.file = null;
+      return this;
+    }
+    
+    /**
+     * Sets the maximum size of each window when the input file is memory-mapped.
+     * 
+     * @param mapWindowSize
+     *          The maximum size of a mapped window, in bytes.
+     * @return This {@code Builder}.
+     * @throws IllegalArgumentException
+     *           If the size is not positive.
+     */
+    public Builder mapWindowSize(int mapWindowSize) {
+      if (mapWindowSize < 1) {
+        throw new IllegalArgumentException("Map window size must be positive: " + mapWindowSize);
+      }
+      this.mapWindowSize = mapWindowSize;
+      return this;
+    }
+    
+    /**
+     * Solves test cases concurrently on the given {@code Executor}. Test cases are still read in
+     * order, and their results are still written in "Case #n" order. The {@code Executor} runs one
+     * long-lived task for each {@linkplain #solveWorkers(int) solve worker}, and is not shut down
+     * by the solver. Those tasks must run on other threads: an {@code Executor} that runs a task on
+     * the thread that submits it, such as a direct executor or a pool whose rejection policy is
+     * caller-runs, makes the run fail with a {@code RejectedExecutionException}.
+     * 
+     * @param executor
+     *          The {@code Executor} that test cases are solved on.
+     * @return This {@code Builder}.
+     */
+    public Builder parallel(Executor executor) {
+      this.executor = Objects.requireNonNull(executor);
+      return this;
+    }
+    
+    /**
+     * Sets the number of workers that solve test cases when solving in parallel. The default is the
+     * number of available processors.
+     * 
+     * @param solveWorkers
+     *          The number of solve workers.
+     * @return This {@code Builder}.
+     * @throws IllegalArgumentException
+     *           If the number is not positive.
+     */
+    public Builder solveWorkers(int solveWorkers) {
+      if (solveWorkers < 1) {
+        throw new IllegalArgumentException("Solve workers must be positive: " + solveWorkers);
+      }
+      this.solveWorkers = solveWorkers;
+      return this;
+    }
+    
+    /**
+     * Sets the number of parsed test cases that may wait for a solve worker when solving in
+     * parallel.
+     * 
+     * @param solveQueueCapacity
+     *          The capacity of the solve queue.
+     * @return This {@code Builder}.
+     * @throws IllegalArgumentException
+     *           If the capacity is not positive.
+     */
+    public Builder solveQueueCapacity(int solveQueueCapacity) {
+      if (solveQueueCapacity < 1) {
+        throw new IllegalArgumentException("Solve queue capacity must be positive: "
+                                           + solveQueueCapacity);
+      }
+      this.solveQueueCapacity = solveQueueCapacity;
+      return this;
+    }
+    
+    /**
+     * Sets the size of the window that results are put back into order in when solving in
+     * parallel: the number of consecutive test cases, starting at the next result to be written,
+     * that may have finished solving.
+     * 
+     * @param maxPendingCases
+     *          The maximum number of pending test cases.
+     * @return This {@code Builder}.
+     * @throws IllegalArgumentException
+     *           If the maximum is not positive.
+     */
+    public Builder maxPendingCases(int maxPendingCases) {
+      if (maxPendingCases < 1) {
+        throw new IllegalArgumentException("Maximum pending cases must be positive: "
+                                           + maxPendingCases);
+      }
+      this.maxPendingCases = maxPendingCases;
+      return this;
+    }
+    
+    /**
+     * Reports the queue depths and stage utilization of parallel runs to the given statistics,
+     * which may be read while the run is in progress.
+     * 
+     * @param statistics
+     *          The statistics to report to.
+     * @return This {@code Builder}.
+     */
+    public Builder statistics(PipelineStatistics statistics) {
+      this.statistics = Objects.requireNonNull(statistics);
+      return this;
+    }
+    
+    /**
+     * Records the time, input, output and allocation of each test case in the given statistics,
+     * and prints a summary of them to {@code System.err} at the end of each run. Without this,
+     * test cases are not measured at all.
+     * 
+     * @param caseStatistics
+     *          The statistics to record test cases in.
+     * @return This {@code Builder}.
+     */
+    public Builder caseStatistics(CaseStatistics caseStatistics) {
+      this.caseStatistics = Objects.requireNonNull(caseStatistics);
+      return this;
+    }
+    
+    /**
+     * Writes results to one of the standard targets: the output file, the console, or both.
+     * 
+     * @param outputTarget
+     *          Where results are written.
+     * @return This {@code Builder}.
+     */
+    public Builder output(OutputTarget outputTarget) {
+      this.outputTarget = Objects.requireNonNull(outputTarget);
+      this.outputSink = null;
+      return this;
+    }
+    
+    /**
+     * Sets the file that results are written to when the output target includes a file.
+     * 
+     * @param outputFile
+     *          The output file.
+     * @return This {@code Builder}.
+     */
+    public Builder outputFile(Path outputFile) {
+      this.outputFile = Objects.requireNonNull(outputFile);
+      return this;
+    }
+    
+    /**
+     * Writes results to the given sink instead of a standard target. The sink is flushed, but not
+     * closed, when the solver finishes.
+     * 
+     * @param outputSink
+     *          The sink that results are written to.
+     * @return This {@code Builder}.
+     */
+    public Builder output(OutputSink outputSink) {
+      this.outputSink = Objects.requireNonNull(outputSink);
+      return this;
+    }
+    
+    /**
+     * Sets whether results for a standard target are written on a background thread.
+     * 
+     * @param asynchronousOutput
+     *          {@code true} to write results on a background thread.
+     * @return This {@code Builder}.
+     */
+    public Builder asynchronousOutput(boolean asynchronousOutput) {
+      this.asynchronousOutput = asynchronousOutput;
+      return this;
+    }
+    
+    /**
+     * Sets the size of the direct buffer that results for a standard target are encoded into.
+     * 
+     * @param outputBufferSize
+     *          The size of the output buffer, in bytes.
+     * @return This {@code Builder}.
+     * @throws IllegalArgumentException
+     *           If the size is not positive.
+     */
+    public Builder outputBufferSize(int outputBufferSize) {
+      if (outputBufferSize < 1) {
+        throw new IllegalArgumentException("Output buffer size must be positive: "
+                                           + outputBufferSize);
+      }
+      this.outputBufferSize = outputBufferSize;
+      return this;
+    }
+    
+    /**
+     * Sets the number of full chunks of results that may wait for the background writer thread.
+     * 
+     * @param outputQueueCapacity
+     *          The capacity of the output queue.
+     * @return This {@code Builder}.
+     * @throws IllegalArgumentException
+     *           If the capacity is not positive.
+     */
+    public Builder outputQueueCapacity(int outputQueueCapacity) {
+      if (outputQueueCapacity < 1) {
+        throw new IllegalArgumentException("Output queue capacity must be positive: "
+                                           + outputQueueCapacity);
+      }
+      this.outputQueueCapacity = outputQueueCapacity;
+      return this;
+    }
+    
+    /**
+     * Creates the {@code SolverOptions} described by this {@code Builder}.
+     * 
+     * @return New {@code SolverOptions}.
+     */
+    public SolverOptions build() {
+      return new SolverOptions(this);
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package googlecodejam.aliennumbers;
 
 import java.io.IOException;
+import java.util.Objects;
 import java.util.Scanner;
 
+import googlecodejam.CodeJamTokenizer;
 import googlecodejam.GoogleCodeJamSolver;
 
 /**
@@ -82,11 +84,29 @@ import googlecodejam.GoogleCodeJamSolver;
 public class AlienNumberCodeJamSolver extends GoogleCodeJamSolver {
   
   /**
-   * Creates an {@code AlienNumberCodeJamSolver}. After this is constructed, {@link #go(String[])}
-   * should be called on this object to solve the Code Jam.
+   * The cache that each test case's converter is taken from.
+   */
+  private final AlienNumberConverterCache converters;
+  
+  /**
+   * Creates an {@code AlienNumberCodeJamSolver} with its own {@code AlienNumberConverterCache} of
+   * the default size. After this is constructed, {@link #go(String[])} should be called on this
+   * object to solve the Code Jam.
    */
   public AlienNumberCodeJamSolver() {
+    this(new AlienNumberConverterCache());
+  }
+  
+  /**
+   * Creates an {@code AlienNumberCodeJamSolver} that takes each test case's converter from the
+   * given cache. After this is constructed, {@link #go(String[])} should be called on this object
+   * to solve the Code Jam.
+   * 
+   * @param converters The cache that each test case's converter is taken from.
+   */
+  public AlienNumberCodeJamSolver(AlienNumberConverterCache converters) {
     super();
+    this.converters = Objects.requireNonNull(converters);
   }
   
   /**
@@ -98,7 +118,39 @@ public class AlienNumberCodeJamSolver extends GoogleCodeJamSolver {
     String sourceLanguage = in.next();
     String targetLanguage = in.next();
     
-    AlienNumberConverter converter = new AlienNumberConverter(sourceLanguage, targetLanguage);
+    return solve(alienNumber, sourceLanguage, targetLanguage);
+  }
+  
+  /**
+   * This solver reads its input through a {@code CodeJamTokenizer}.
+   */
+  @Override
+  protected boolean usesTokenizer() {
+    return true;
+  }
+  
+  /**
+   * Solves a single test case of the Alien Numbers Google Code Jam.
+   */
+  @Override
+  protected String solve(CodeJamTokenizer in) throws IOException {
+    String alienNumber = in.nextToken();
+    String sourceLanguage = in.nextToken();
+    String targetLanguage = in.nextToken();
+    
+    return solve(alienNumber, sourceLanguage, targetLanguage);
+  }
+  
+  /**
+   * Solves a single test case of the Alien Numbers Google Code Jam once its values have been read.
+   * 
+   * @param alienNumber The number being converted.
+   * @param sourceLanguage The language the number is written in.
+   * @param targetLanguage The language the number is converted to.
+   * @return The number written in the target language.
+   */
+  private String solve(String alienNumber, String sourceLanguage, String targetLanguage) {
+    AlienNumberConverter converter = converters.get(sourceLanguage, targetLanguage);
     
     final String result = converter.convert(alienNumber);
     return result;
@@ -1,14 +1,40 @@
 package googlecodejam.aliennumbers;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+
 /**
  * An {@code AlienNumberConverter} converts a word from a source alien numeral system to the same
  * word in a destination alien numeral system.
+ * <p>
+ * Words of any length can be converted. A word short enough for its value to fit in a
+ * {@code long} is converted through that {@code long}. A longer word is converted through a
+ * {@code BigInteger} by divide and conquer: it is split in half, on a power of the base, until each
+ * piece fits in a {@code long}, and the value is split the same way to write it in the destination
+ * numeral system. With the subquadratic multiplication and division of {@code BigInteger}, this
+ * scales far better than converting one digit at a time.
+ * <p>
+ * If both bases are powers of a common root, such as 2 and 16, or 4 and 64, no arithmetic on the
+ * whole value is needed at all: each letter is a fixed group of digits in the root, so the digits
+ * are regrouped from one base to the other, in linear time.
+ * <p>
+ * Numbers too large to hold in memory can be converted between {@code Readable}s and
+ * {@code Appendable}s with {@link #convert(Readable, Appendable)}, or with
+ * {@link #convert(Readable, long, Appendable)} if their length is known.
  * 
  * @author Scotty Boutin
  * @version 1.0.0
  */
 public class AlienNumberConverter {
   
+  /**
+   * The number of letters read or written at a time when converting a stream.
+   */
+  private static final int STREAM_BUFFER_SIZE = 1 << 13;
+  
   /**
    * The {@code AlienNumeralSystem} that words are converted from.
    */
@@ -17,6 +43,27 @@ public class AlienNumberConverter {
    * The {@code AlienNumeralSystem} that words are converted to.
    */
   private final AlienNumeralSystem toLanguage;
+  /**
+   * The powers of the source base that long words are split on.
+   */
+  private final RadixPowers fromPowers;
+  /**
+   * The powers of the destination base that the values of long words are split on.
+   */
+  private final RadixPowers toPowers;
+  /**
+   * The smallest number that both bases are powers of, or 0 if they are not powers of a common
+   * root.
+   */
+  private final int root;
+  /**
+   * The number of root digits in each letter of the source language.
+   */
+  private final int fromRootDigits;
+  /**
+   * The number of root digits in each letter of the destination language.
+   */
+  private final int toRootDigits;
   
   /**
    * Constructs an {@code AlienNumberConverter} from a source {@code AlienNumeralSystem} and a
@@ -32,6 +79,20 @@ public class AlienNumberConverter {
      */
     this.fromLanguage = fromLanguage;
     this.toLanguage = toLanguage;
+    this.fromPowers = new RadixPowers(fromLanguage.getBaseNumber());
+    this.toPowers = new RadixPowers(toLanguage.getBaseNumber());
+    int fromBase = fromLanguage.getBaseNumber();
+    int toBase = toLanguage.getBaseNumber();
+    int commonRoot = 0;
+    for (int candidate = 2; candidate <= Math.min(fromBase, toBase); candidate++) {
+      if (rootDigits(fromBase, candidate) > 0 && rootDigits(toBase, candidate) > 0) {
+        commonRoot = candidate;
+        break;
+      }
+    }
+    this.root = commonRoot;
+    this.fromRootDigits = commonRoot > 0 ? rootDigits(fromBase, commonRoot) : 0;
+    this.toRootDigits = commonRoot > 0 ? rootDigits(toBase, commonRoot) : 0;
   }
   
   /**
@@ -79,11 +140,173 @@ public class AlienNumberConverter {
     if (fromLanguage.getBaseNumber() == toLanguage.getBaseNumber()) {
       return convertLanguagesOfSameLength(alienNumber);
     }
+    // Powers of a common root, so regroup the digits of the root.
+    if (root > 0) {
+      return convertLanguagesOfRelatedLength(alienNumber);
+    }
     
     return convertLanguagesOfDifferentLength(alienNumber);
     
   }
   
+  /**
+   * Converts a number read from the source language's characters to the same number written in
+   * the destination language's characters. The input must hold nothing but the letters of the
+   * number, and it is read until it ends. Neither the input nor the output is closed.
+   * <p>
+   * Between languages of the same length, and between languages whose lengths are powers of a
+   * common root, the number is converted as it is read, with a fixed amount of memory, however
+   * long it is. Regrouping the digits of the root from the most significant end needs the length
+   * of the number, unless each source letter is a whole number of destination letters, so it is
+   * only streamed if the input is a {@code CharBuffer}, whose remaining length is known, or if
+   * the source length is a power of the destination length, such as 16 and 2. Otherwise, such as
+   * from 2 to 16, the length can be given to {@link #convert(Readable, long, Appendable)} to
+   * stream the number. Any other number is read whole and converted in memory.
+   * <p>
+   * If the input contains a character not in the source language, the letters converted before
+   * it may already have been written.
+   * 
+   * @param in The source of a number written in the source language's characters.
+   * @param out The destination of the same number, written in the destination language's
+   *          characters.
+   * @throws IOException If reading from the input or writing to the output fails.
+   * @throws NoLetterInAlienNumeralSystemException If the number contains a character not in the
+   *           source language.
+   */
+  public void convert(Readable in, Appendable out) throws IOException {
+    if (fromLanguage.getBaseNumber() == toLanguage.getBaseNumber()) {
+      streamLanguagesOfSameLength(in, out);
+    } else if (root > 0 && fromRootDigits % toRootDigits == 0) {
+      streamLanguagesOfRelatedLength(in, 0, out);
+    } else if (root > 0 && in instanceof CharBuffer) {
+      streamLanguagesOfRelatedLength(in, ((CharBuffer) in).remaining(), out);
+    } else {
+      StringBuilder alienNumber = new StringBuilder();
+      CharBuffer buffer = CharBuffer.allocate(STREAM_BUFFER_SIZE);
+      while (in.read(buffer) >= 0) {
+        ((Buffer) buffer).flip();
+        alienNumber.append(buffer);
+        ((Buffer) buffer).clear();
+      }
+      if (root > 0) {
+        // Regrouping ignores leading zeroes by itself, so the text is not copied again.
+        if (alienNumber.length() == 0) {
+          throw new IllegalArgumentException("Empty alien number not allowed");
+        }
+        out.append(convertLanguagesOfRelatedLength(alienNumber));
+      } else {
+        out.append(convert(alienNumber.toString()));
+      }
+    }
+  }
+  
+  /**
+   * Converts a number of a known length read from the source language's characters to the same
+   * number written in the destination language's characters, as
+   * {@link #convert(Readable, Appendable)} does. Knowing the length lets a number be converted as
+   * it is read, with a fixed amount of memory, between any two languages whose lengths are powers
+   * of a common root, such as 2 and 16, whatever the input is.
+   * 
+   * @param in The source of a number written in the source language's characters.
+   * @param length The number of letters in the input, leading zeroes included.
+   * @param out The destination of the same number, written in the destination language's
+   *          characters.
+   * @throws IOException If reading from the input or writing to the output fails.
+   * @throws NoLetterInAlienNumeralSystemException If the number contains a character not in the
+   *           source language.
+   * @throws IllegalArgumentException If the length is negative, or the number of letters in the
+   *           input is not the length. In the latter case, letters may already have been written.
+   */
+  public void convert(Readable in, long length, Appendable out) throws IOException {
+    if (length < 0) {
+      throw new IllegalArgumentException("Length must not be negative: " + length);
+    }
+    if (root > 0 && fromLanguage.getBaseNumber() != toLanguage.getBaseNumber()
+        && fromRootDigits % toRootDigits != 0) {
+      streamLanguagesOfRelatedLength(in, length, out);
+    } else {
+      convert(in, out);
+    }
+  }
+  
+  /**
+   * Converts a stream of letters from one language to another if both are the same length.
+   * 
+   * @param in The source of the alien number.
+   * @param out The destination of the alien number in the destination language's representation.
+   * @throws IOException If reading from the input or writing to the output fails.
+   * @throws NoLetterInAlienNumeralSystemException If the alien number contains a character not in
+   *           the source language.
+   */
+  private void streamLanguagesOfSameLength(Readable in, Appendable out) throws IOException {
+    LetterWriter newNumber = new LetterWriter(toLanguage, out);
+    CharBuffer buffer = CharBuffer.allocate(STREAM_BUFFER_SIZE);
+    while (in.read(buffer) >= 0) {
+      ((Buffer) buffer).flip();
+      while (buffer.hasRemaining()) {
+        newNumber.write(fromLanguage.getValue(buffer.get()));
+      }
+      ((Buffer) buffer).clear();
+    }
+    newNumber.finish();
+  }
+  
+  /**
+   * Converts a stream of letters from one language to another if the lengths of the two languages
+   * are powers of a common root. The root digits of the letters are collected in an accumulator
+   * from the most significant end, and each group of them that makes up a letter of the
+   * destination language is written as soon as it is complete. The groups are aligned on the least
+   * significant end, so the first group only holds the root digits left over from the others.
+   * 
+   * @param in The source of the alien number.
+   * @param length The number of letters in the alien number. It is not used if each source letter
+   *          is a whole number of destination letters.
+   * @param out The destination of the alien number in the destination language's representation.
+   * @throws IOException If reading from the input or writing to the output fails.
+   * @throws NoLetterInAlienNumeralSystemException If the alien number contains a character not in
+   *           the source language.
+   * @throws IllegalArgumentException If the length is used, and the number of letters read is not
+   *           the length.
+   */
+  private void streamLanguagesOfRelatedLength(Readable in, long length, Appendable out)
+      throws IOException {
+    long[] rootPowers = new long[fromRootDigits + toRootDigits];
+    rootPowers[0] = 1;
+    for (int digits = 1; digits < rootPowers.length; digits++) {
+      rootPowers[digits] = rootPowers[digits - 1] * root;
+    }
+    int leadingDigits = (int) (length * fromRootDigits % toRootDigits);
+    int groupDigits = leadingDigits > 0 ? leadingDigits : toRootDigits;
+    long accumulator = 0;
+    int accumulatorDigits = 0;
+    
+    long lettersRead = 0;
+    
+    LetterWriter newNumber = new LetterWriter(toLanguage, out);
+    CharBuffer buffer = CharBuffer.allocate(STREAM_BUFFER_SIZE);
+    while (in.read(buffer) >= 0) {
+      ((Buffer) buffer).flip();
+      lettersRead += buffer.remaining();
+      while (buffer.hasRemaining()) {
+        accumulator = accumulator * fromLanguage.getBaseNumber()
+                      + fromLanguage.getValue(buffer.get());
+        accumulatorDigits += fromRootDigits;
+        while (accumulatorDigits >= groupDigits) {
+          accumulatorDigits -= groupDigits;
+          newNumber.write((int) (accumulator / rootPowers[accumulatorDigits]));
+          accumulator %= rootPowers[accumulatorDigits];
+          groupDigits = toRootDigits;
+        }
+      }
+      ((Buffer) buffer).clear();
+    }
+    if (fromRootDigits % toRootDigits != 0 && lettersRead != length) {
+      throw new IllegalArgumentException("Expected " + length + " letters, but read "
+                                         + lettersRead);
+    }
+    newNumber.finish();
+  }
+  
   /**
    * Removes the zeroes from the alien number using the source language.
    * 
@@ -97,13 +320,11 @@ public class AlienNumberConverter {
   private String
           removeLeadingZeroes(String alienNumber) throws NoLetterInAlienNumeralSystemException {
     char letter0 = fromLanguage.getLetter(0);
-    StringBuilder builder = new StringBuilder(alienNumber);
-    while (builder.length() > 0 && builder.charAt(0) == letter0) {
-      builder.deleteCharAt(0);
+    int start = 0;
+    while (start < alienNumber.length() - 1 && alienNumber.charAt(start) == letter0) {
+      start++;
     }
-    if (builder.length() == 0)
-      builder.append(letter0);
-    return builder.toString();
+    return alienNumber.substring(start);
   }
   
   /**
@@ -124,28 +345,88 @@ public class AlienNumberConverter {
     return newNumber.toString();
   }
   
+  /**
+   * Finds the power of a root that a base is.
+   * 
+   * @param base The base.
+   * @param root The root, at least 2.
+   * @return The exponent <i>n</i> such that root<sup><i>n</i></sup> = base, or 0 if the base is
+   *         not a power of the root.
+   */
+  private static int rootDigits(int base, int root) {
+    int digits = 0;
+    for (int power = 1; power < base; power *= root) {
+      digits++;
+    }
+    int power = 1;
+    for (int i = 0; i < digits; i++) {
+      power *= root;
+    }
+    return power == base ? digits : 0;
+  }
+  
+  /**
+   * Converts an alien number from one language to another if the lengths of the two languages are
+   * powers of a common root. The letters are read from the least significant end, and their root
+   * digits are collected in an accumulator until they make up a letter of the destination
+   * language. The accumulator never holds more than the digits of one letter of each language, so
+   * nothing but the result grows with the number.
+   * 
+   * @param alienNumber The alien number that is being converted, which is not empty. Any leading
+   *          zeroes are left out of the result.
+   * @return The alien number in the destination langauge's representation.
+   * @throws NoLetterInAlienNumeralSystemException If the alien number contains a character not in
+   *           the source language.
+   */
+  private String
+          convertLanguagesOfRelatedLength(final CharSequence alienNumber) throws NoLetterInAlienNumeralSystemException {
+    int toLanguageBase = toLanguage.getBaseNumber();
+    long totalRootDigits = (long) alienNumber.length() * fromRootDigits;
+    char[] newNumber = new char[(int) ((totalRootDigits + toRootDigits - 1) / toRootDigits)];
+    int start = newNumber.length;
+    long accumulator = 0;
+    long accumulatorScale = 1;
+    int accumulatorDigits = 0;
+    for (int index = alienNumber.length() - 1; index >= 0; index--) {
+      accumulator += fromLanguage.getValue(alienNumber.charAt(index)) * accumulatorScale;
+      accumulatorScale *= fromLanguage.getBaseNumber();
+      accumulatorDigits += fromRootDigits;
+      while (accumulatorDigits >= toRootDigits) {
+        newNumber[--start] = toLanguage.getLetter((int) (accumulator % toLanguageBase));
+        accumulator /= toLanguageBase;
+        accumulatorScale /= toLanguageBase;
+        accumulatorDigits -= toRootDigits;
+      }
+    }
+    if (accumulatorDigits > 0) {
+      newNumber[--start] = toLanguage.getLetter((int) accumulator);
+    }
+    
+    // The highest letter may only hold leading zeroes.
+    char letter0 = toLanguage.getLetter(0);
+    while (start < newNumber.length - 1 && newNumber[start] == letter0) {
+      start++;
+    }
+    return new String(newNumber, start, newNumber.length - start);
+  }
+  
   /**
    * Converts an alien number from one language to another if the two languages have a different
-   * length.
+   * length. Its value is held in a {@code long} if it fits, and in a {@code BigInteger} otherwise.
    * 
-   * @param alienNumber The alien number that is being converted.
+   * @param alienNumber The alien number that is being converted, without leading zeroes.
    * @return The alien number in the destination langauge's representation.
    * @throws NoLetterInAlienNumeralSystemException If the alien number contains a character not in
    *           the source language.
    */
   private String
           convertLanguagesOfDifferentLength(final String alienNumber) throws NoLetterInAlienNumeralSystemException {
-    // Get word reversed to iterate through word's numeric value more
-    // effectively.
-    String reversedInput = reverseString(alienNumber);
+    if (alienNumber.length() > fromPowers.getDigitsPerLong()) {
+      return convertLongNumber(alienNumber);
+    }
     
     // Determine numerical value from the first language.
-    long numericalValue = 0;
-    for (int index = 0, fromLanguageBase = fromLanguage.getBaseNumber(), multiplier = 1;
-         index < alienNumber.length(); index++, multiplier *= fromLanguageBase) {
-      char letter = reversedInput.charAt(index);
-      numericalValue += (fromLanguage.getValue(letter) * multiplier);
-    }
+    long numericalValue = parseLong(alienNumber, 0, alienNumber.length());
     
     // If 0, return language 2's 0 value.
     if (numericalValue == 0) {
@@ -164,6 +445,126 @@ public class AlienNumberConverter {
     return reverseString(newNumberReversed.toString());
   }
   
+  /**
+   * Finds the value of part of an alien number that fits in a {@code long}.
+   * 
+   * @param alienNumber The alien number.
+   * @param from The index of the first letter of the part, inclusive.
+   * @param to The index of the last letter of the part, exclusive. The part must be no longer than
+   *          {@link RadixPowers#getDigitsPerLong()} of the source base.
+   * @return The value of the part.
+   * @throws NoLetterInAlienNumeralSystemException If the part contains a character not in the
+   *           source language.
+   */
+  private long parseLong(String alienNumber, int from, int to)
+      throws NoLetterInAlienNumeralSystemException {
+    int fromLanguageBase = fromLanguage.getBaseNumber();
+    long value = 0;
+    for (int index = from; index < to; index++) {
+      value = value * fromLanguageBase + fromLanguage.getValue(alienNumber.charAt(index));
+    }
+    return value;
+  }
+  
+  /**
+   * Converts an alien number that is too long for its value to fit in a {@code long}.
+   * 
+   * @param alienNumber The alien number that is being converted, without leading zeroes.
+   * @return The alien number in the destination langauge's representation.
+   * @throws NoLetterInAlienNumeralSystemException If the alien number contains a character not in
+   *           the source language.
+   */
+  private String convertLongNumber(String alienNumber)
+      throws NoLetterInAlienNumeralSystemException {
+    BigInteger value = parse(alienNumber, 0, alienNumber.length());
+    // Find the smallest level of powers that is larger than the value. The
+    // number has at most twice as many digits as the level below it.
+    int level = 0;
+    while (toPowers.get(level).compareTo(value) <= 0) {
+      level++;
+    }
+    StringBuilder newNumber = new StringBuilder();
+    format(value, level - 1, false, newNumber);
+    return newNumber.toString();
+  }
+  
+  /**
+   * Finds the value of part of an alien number by splitting it in two, on the largest level of
+   * the source powers that leaves the high half with at least one letter.
+   * 
+   * @param alienNumber The alien number.
+   * @param from The index of the first letter of the part, inclusive.
+   * @param to The index of the last letter of the part, exclusive.
+   * @return The value of the part.
+   * @throws NoLetterInAlienNumeralSystemException If the part contains a character not in the
+   *           source language.
+   */
+  private BigInteger parse(String alienNumber, int from, int to)
+      throws NoLetterInAlienNumeralSystemException {
+    int length = to - from;
+    int digitsPerLong = fromPowers.getDigitsPerLong();
+    if (length <= digitsPerLong) {
+      return BigInteger.valueOf(parseLong(alienNumber, from, to));
+    }
+    int level = 0;
+    while ((long) digitsPerLong << (level + 1) < length) {
+      level++;
+    }
+    int split = to - (digitsPerLong << level);
+    BigInteger high = parse(alienNumber, from, split);
+    BigInteger low = parse(alienNumber, split, to);
+    return high.multiply(fromPowers.get(level)).add(low);
+  }
+  
+  /**
+   * Writes a value in the destination language by splitting it in two on a level of the
+   * destination powers, and writing the high half before the low half.
+   * 
+   * @param value The value, less than the destination power one level above the given level.
+   * @param level The level to split on, or -1 if the value fits in a {@code long}.
+   * @param pad Whether to write the value with exactly {@link RadixPowers#getDigitsPerLong()}
+   *          &times; 2<sup>level + 1</sup> letters, padded with leading zeroes. Only the most
+   *          significant part of the number is not padded.
+   * @param newNumber The builder that the letters are appended to.
+   */
+  private void format(BigInteger value, int level, boolean pad, StringBuilder newNumber) {
+    if (level < 0) {
+      formatLong(value.longValue(), pad, newNumber);
+      return;
+    }
+    BigInteger[] halves = value.divideAndRemainder(toPowers.get(level));
+    if (pad || halves[0].signum() != 0) {
+      format(halves[0], level - 1, pad, newNumber);
+      format(halves[1], level - 1, true, newNumber);
+    } else {
+      format(halves[1], level - 1, false, newNumber);
+    }
+  }
+  
+  /**
+   * Writes a value that fits in a {@code long} in the destination language.
+   * 
+   * @param value The value, less than the level 0 destination power.
+   * @param pad Whether to write the value with exactly {@link RadixPowers#getDigitsPerLong()}
+   *          letters, padded with leading zeroes.
+   * @param newNumber The builder that the letters are appended to.
+   */
+  private void formatLong(long value, boolean pad, StringBuilder newNumber) {
+    int toLanguageBase = toLanguage.getBaseNumber();
+    char[] letters = new char[toPowers.getDigitsPerLong()];
+    int start = letters.length;
+    do {
+      letters[--start] = toLanguage.getLetter((int) (value % toLanguageBase));
+      value /= toLanguageBase;
+    } while (value > 0);
+    if (pad) {
+      while (start > 0) {
+        letters[--start] = toLanguage.getLetter(0);
+      }
+    }
+    newNumber.append(letters, start, letters.length - start);
+  }
+  
   /**
    * Reverses a {@code String}.
    * 
@@ -181,4 +582,96 @@ public class AlienNumberConverter {
     
     return new String(reversedCharArray);
   }
-}
\ No newline at end of file
+  
+  /**
+   * A {@code LetterWriter} writes the letters of a number to an {@code Appendable} a block at a
+   * time, leaving out its leading zeroes.
+   */
+  private static final class LetterWriter {
+    
+    /**
+     * The language that the letters are written in.
+     */
+    private final AlienNumeralSystem language;
+    /**
+     * The destination of the letters.
+     */
+    private final Appendable out;
+    /**
+     * The letters that have not been written yet.
+     */
+    private final char[] letters = new char[STREAM_BUFFER_SIZE];
+    /**
+     * The number of letters that have not been written yet.
+     */
+    private int length;
+    /**
+     * Whether the first letter other than zero has been seen.
+     */
+    private boolean started;
+    /**
+     * Whether no letter has been seen yet, not even a leading zero.
+     */
+    private boolean empty = true;
+    
+    /**
+     * Constructs a {@code LetterWriter} for a language and a destination.
+     * 
+     * @param language The language that the letters are written in.
+     * @param out The destination of the letters.
+     */
+    LetterWriter(AlienNumeralSystem language, Appendable out) {
+      this.language = language;
+      this.out = out;
+    }
+    
+    /**
+     * Writes the next letter of the number, unless it is a leading zero.
+     * 
+     * @param value The value of the letter.
+     * @throws IOException If writing to the destination fails.
+     */
+    void write(int value) throws IOException {
+      empty = false;
+      if (!started && value == 0) {
+        return;
+      }
+      started = true;
+      if (length == letters.length) {
+        flush();
+      }
+      letters[length++] = language.getLetter(value);
+    }
+    
+    /**
+     * Writes the letters that have not been written yet, or the zero of the language if the
+     * number only held zeroes.
+     * 
+     * @throws IOException If writing to the destination fails.
+     * @throws IllegalArgumentException If no letter was written at all.
+     */
+    void finish() throws IOException {
+      if (empty) {
+        throw new IllegalArgumentException("Empty alien number not allowed");
+      }
+      if (!started) {
+        letters[length++] = language.getLetter(0);
+      }
+      flush();
+    }
+    
+    /**
+     * Writes the letters that have not been written yet.
+     * 
+     * @throws IOException If writing to the destination fails.
+     */
+    private void flush() throws IOException {
+      if (out instanceof Writer) {
+        ((Writer) out).write(letters, 0, length);
+      } else {
+        out.append(CharBuffer.wrap(letters, 0, length));
+      }
+      length = 0;
+    }
+  }
+}
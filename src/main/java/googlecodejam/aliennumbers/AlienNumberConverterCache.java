@@ -0,0 +1,150 @@
+package googlecodejam.aliennumbers;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * An {@code AlienNumberConverterCache} hands out prebuilt {@code AlienNumberConverter}s, keyed by
+ * their source and target languages, so that a pair of languages that repeats is validated and
+ * built only once. The cache is bounded: once it holds its maximum number of converters, the
+ * least recently used ones are evicted. Hits and misses are counted, and are available from
+ * {@link #stats()}.
+ * <p>
+ * An {@code AlienNumberConverterCache} is safe for use by multiple threads, as are the converters
+ * it hands out.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class AlienNumberConverterCache {
+  
+  /**
+   * The default maximum number of converters that are kept.
+   */
+  public static final long DEFAULT_MAXIMUM_SIZE = 1_024;
+  
+  /**
+   * The converters, by their source and target languages.
+   */
+  private final LoadingCache<LanguagePair, AlienNumberConverter> converters;
+  
+  /**
+   * Creates an {@code AlienNumberConverterCache} that keeps at most
+   * {@value #DEFAULT_MAXIMUM_SIZE} converters.
+   */
+  public AlienNumberConverterCache() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+  
+  /**
+   * Creates an {@code AlienNumberConverterCache} that keeps at most the given number of
+   * converters.
+   * 
+   * @param maximumSize The maximum number of converters that are kept.
+   * @throws IllegalArgumentException If the maximum size is negative.
+   */
+  public AlienNumberConverterCache(long maximumSize) {
+    this.converters = CacheBuilder.newBuilder()
+                                  .maximumSize(maximumSize)
+                                  .recordStats()
+                                  .build(CacheLoader.from(LanguagePair::newConverter));
+  }
+  
+  /**
+   * Returns the converter between two languages, building it if it is not already cached.
+   * 
+   * @param sourceLanguage The language that words will be converted from.
+   * @param targetLanguage The language that words will be converted to.
+   * @return The converter from the source language to the target language.
+   * @throws InvalidAlienNumeralSystemException If either of the languages represent invalid alien
+   *           numeral systems. Invalid languages are never cached.
+   */
+  public AlienNumberConverter get(String sourceLanguage, String targetLanguage)
+      throws InvalidAlienNumeralSystemException {
+    try {
+      return converters.getUnchecked(new LanguagePair(sourceLanguage, targetLanguage));
+    } catch (UncheckedExecutionException e) {
+      // Only runtime exceptions can be thrown while building a converter.
+      throw (RuntimeException) e.getCause();
+    }
+  }
+  
+  /**
+   * Returns the hit and miss counts, and the other statistics, of this cache.
+   * 
+   * @return A snapshot of the statistics of this cache.
+   */
+  public CacheStats stats() {
+    return converters.stats();
+  }
+  
+  /**
+   * Returns the number of converters in this cache.
+   * 
+   * @return The approximate number of converters that are cached.
+   */
+  public long size() {
+    return converters.size();
+  }
+  
+  /**
+   * A {@code LanguagePair} is the key of a cached converter: its source and target languages.
+   * 
+   * @author Scotty Boutin
+   * @version 1.0.0
+   */
+  private static final class LanguagePair {
+    
+    /**
+     * The language that words are converted from.
+     */
+    final String sourceLanguage;
+    /**
+     * The language that words are converted to.
+     */
+    final String targetLanguage;
+    
+    /**
+     * Constructs a {@code LanguagePair}.
+     * 
+     * @param sourceLanguage The language that words are converted from.
+     * @param targetLanguage The language that words are converted to.
+     */
+    LanguagePair(String sourceLanguage, String targetLanguage) {
+      this.sourceLanguage = sourceLanguage;
+      this.targetLanguage = targetLanguage;
+    }
+    
+    /**
+     * Builds the converter between this pair of languages.
+     * 
+     * @return A new converter from the source language to the target language.
+     * @throws InvalidAlienNumeralSystemException If either of the languages represent invalid
+     *           alien numeral systems.
+     */
+    AlienNumberConverter newConverter() throws InvalidAlienNumeralSystemException {
+      return new AlienNumberConverter(sourceLanguage, targetLanguage);
+    }
+    
+    @Override
+    public int hashCode() {
+      return 31 * sourceLanguage.hashCode() + targetLanguage.hashCode();
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof LanguagePair)) {
+        return false;
+      }
+      LanguagePair other = (LanguagePair) obj;
+      return sourceLanguage.equals(other.sourceLanguage)
+             && targetLanguage.equals(other.targetLanguage);
+    }
+  }
+}
@@ -1,7 +1,7 @@
 package googlecodejam.aliennumbers;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  * An {@code AlienNumeralSystem} is a representation of an abstract numerical system. It is composed
@@ -52,10 +52,28 @@ public class AlienNumeralSystem {
   private static final String NULL_LANGUAGE_EXCEPTION_MESSAGE =
                                                               "Language provided must not be null";
   
+  /**
+   * The number of characters that are allowed in an {@code AlienNumeralSystem}.
+   */
+  private static final int SYMBOL_COUNT = MAX_SYMBOL - MIN_SYMBOL + 1;
+  /**
+   * The value in {@link #values} of a symbol that is not in the language.
+   */
+  private static final int NO_VALUE = -1;
+  
   /**
    * The language of the {@code AlienNumeralSystem}.
    */
   private final String language;
+  /**
+   * The letter of each value, indexed by value.
+   */
+  private final char[] letters;
+  /**
+   * The value of each allowed symbol, indexed by the symbol minus {@link #MIN_SYMBOL}, or
+   * {@value #NO_VALUE} if the symbol is not in the language.
+   */
+  private final int[] values;
   
   /**
    * Constructs an {@code AlienNumeralSystem} from the given language.
@@ -66,6 +84,12 @@ public class AlienNumeralSystem {
   public AlienNumeralSystem(String language) throws InvalidAlienNumeralSystemException {
     validateLanguage(language);
     this.language = language;
+    this.letters = language.toCharArray();
+    this.values = new int[SYMBOL_COUNT];
+    Arrays.fill(values, NO_VALUE);
+    for (int value = 0; value < letters.length; value++) {
+      values[letters[value] - MIN_SYMBOL] = value;
+    }
   }
   
   /**
@@ -94,25 +118,27 @@ public class AlienNumeralSystem {
     // If there are more symbols than could possibly be unique and also be
     // within the min symbol and the max symbol, then there is either a
     // duplicate character, an invalid character, or both.
-    if (language.length() > MAX_SYMBOL - MIN_SYMBOL + 1) {
+    if (language.length() > SYMBOL_COUNT) {
       throw new InvalidAlienNumeralSystemException(GENERIC_INVALID_LANGUAGE_EXCEPTION_MESSAGE);
     }
     
-    // Check each character in the language is within the bounds, and add it
-    // to a Set to check for duplicates
-    Set<Character> letters = new HashSet<Character>();
-    for (char letter : language.toCharArray()) {
+    // Check each character in the language is within the bounds, and mark
+    // it in a bitset of the allowed symbols to check for duplicates
+    BitSet seen = new BitSet(SYMBOL_COUNT);
+    for (int index = 0; index < language.length(); index++) {
+      char letter = language.charAt(index);
       if (letter < MIN_SYMBOL || letter > MAX_SYMBOL) {
         throw new InvalidAlienNumeralSystemException(INVALID_CHARACTER_EXCEPTION_MESSAGE, letter);
       }
-      if (!letters.add(letter)) {
+      if (seen.get(letter - MIN_SYMBOL)) {
         throw new InvalidAlienNumeralSystemException(DUPLICATE_CHARACTER_EXCEPTION_MESSAGE, letter);
       }
+      seen.set(letter - MIN_SYMBOL);
     }
   }
   
   /**
-   * Gets the numerical value of a letter in a language.
+   * Gets the numerical value of a letter in a language. This is a single array lookup.
    * 
    * @param letter The letter that represents a numerical value in this language.
    * @return The numerical value of the letter.
@@ -120,11 +146,12 @@ public class AlienNumeralSystem {
    *           {@code AlienNumeralSystem}.
    */
   public int getValue(char letter) throws NoLetterInAlienNumeralSystemException {
-    int index = language.indexOf(letter);
-    if (index == -1) {
+    int index = letter - MIN_SYMBOL;
+    int value = index >= 0 && index < SYMBOL_COUNT ? values[index] : NO_VALUE;
+    if (value == NO_VALUE) {
       throw NoLetterInAlienNumeralSystemException.of(letter, this);
     }
-    return index;
+    return value;
   }
   
   /**
@@ -136,10 +163,10 @@ public class AlienNumeralSystem {
    *           than or equal to the base of the language.
    */
   public char getLetter(int value) throws AlienNumeralSystemIndexOutOfBoundsException {
-    if (value < 0 || value >= getBaseNumber()) {
+    if (value < 0 || value >= letters.length) {
       throw new AlienNumeralSystemIndexOutOfBoundsException(value);
     }
-    return language.charAt(value);
+    return letters[value];
   }
   
   /**
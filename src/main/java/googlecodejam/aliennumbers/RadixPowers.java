@@ -0,0 +1,103 @@
+package googlecodejam.aliennumbers;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A {@code RadixPowers} is the table of powers of a base that a number is split on when it is
+ * converted to or from that base by divide and conquer. Level <i>k</i> of the table is the base
+ * raised to {@link #getDigitsPerLong()} &times; 2<sup><i>k</i></sup>, so each level splits a
+ * number into two halves of the level below it, and the smallest pieces fit in a {@code long}.
+ * <p>
+ * Levels are computed by squaring the one below them, the first time they are needed, and are kept
+ * for later conversions. A {@code RadixPowers} is safe for use by multiple threads.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+final class RadixPowers {
+  
+  /**
+   * The base of the powers.
+   */
+  private final int base;
+  /**
+   * The largest number of digits in the base whose every value fits in a {@code long}.
+   */
+  private final int digitsPerLong;
+  /**
+   * The levels computed so far. The array is replaced, never modified, when it grows.
+   */
+  private volatile BigInteger[] powers;
+  
+  /**
+   * Constructs the {@code RadixPowers} of a base.
+   * 
+   * @param base The base of the powers, at least 2.
+   */
+  RadixPowers(int base) {
+    this.base = base;
+    this.digitsPerLong = digitsPerLong(base);
+    this.powers = new BigInteger[] { BigInteger.valueOf(base).pow(digitsPerLong) };
+  }
+  
+  /**
+   * Finds the largest number of digits in a base whose every value fits in a {@code long}: the
+   * largest <i>n</i> such that base<sup><i>n</i></sup> - 1 &le; {@link Long#MAX_VALUE}.
+   * 
+   * @param base The base, at least 2.
+   * @return The number of digits.
+   */
+  static int digitsPerLong(int base) {
+    int digits = 0;
+    // Stop once another digit could push the largest value past Long.MAX_VALUE.
+    for (long limit = 1; limit <= Long.MAX_VALUE / base; limit *= base) {
+      digits++;
+    }
+    return digits;
+  }
+  
+  /**
+   * Returns the base of these powers.
+   * 
+   * @return The base.
+   */
+  int getBase() {
+    return base;
+  }
+  
+  /**
+   * Returns the number of digits in the base that level 0 of the table holds, which is the
+   * largest number of digits whose every value fits in a {@code long}.
+   * 
+   * @return The number of digits of the smallest pieces.
+   */
+  int getDigitsPerLong() {
+    return digitsPerLong;
+  }
+  
+  /**
+   * Returns a level of the table, computing it and any levels below it that are missing.
+   * 
+   * @param level The level, at least 0.
+   * @return The base raised to {@link #getDigitsPerLong()} &times; 2<sup>level</sup>.
+   */
+  BigInteger get(int level) {
+    BigInteger[] table = powers;
+    if (level < table.length) {
+      return table[level];
+    }
+    synchronized (this) {
+      table = powers;
+      if (level >= table.length) {
+        int computed = table.length;
+        table = Arrays.copyOf(table, level + 1);
+        for (int k = computed; k <= level; k++) {
+          table[k] = table[k - 1].multiply(table[k - 1]);
+        }
+        powers = table;
+      }
+      return table[level];
+    }
+  }
+}
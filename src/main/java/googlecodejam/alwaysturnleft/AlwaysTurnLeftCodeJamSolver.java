@@ -7,6 +7,8 @@ import java.util.Scanner;
 import java.util.concurrent.ThreadLocalRandom;
 
 import googlecodejam.GoogleCodeJamSolver;
+import googlecodejam.MemoryOutputSink;
+import googlecodejam.OutputSink;
 
 /**
  * An {@code AlwaysTurnLeftCodeJamSolver} solves the "Always Turn Left" Code Jam.
@@ -207,6 +209,15 @@ public class AlwaysTurnLeftCodeJamSolver extends GoogleCodeJamSolver {
    */
   private CoordinateInterpreter coordinateInterpreter;
   
+  /**
+   * Creates an {@code AlwaysTurnLeftCodeJamSolver} that builds mazes with a
+   * {@code MazeWithWallsConstructorStrategy}. This allows the solver to be created by name, such as
+   * by the {@code BatchSolver}.
+   */
+  public AlwaysTurnLeftCodeJamSolver() {
+    this(new MazeWithWallsConstructorStrategy());
+  }
+  
   /**
    * Creates an {@code AlwaysTurnLeftCodeJamSolver} that uses the specified strategy to solve this
    * Code Jam. After this is constructed, {@link #go(String[])} should be called on this object to
@@ -231,24 +242,34 @@ public class AlwaysTurnLeftCodeJamSolver extends GoogleCodeJamSolver {
   };
   
   /**
-   * Solves a single test case of the Always Turn Left Code Jam.
+   * Solves a single test case of the Always Turn Left Code Jam, returning the whole maze description
+   * as a {@code String}.
    */
   @Override
   protected String solve(Scanner in) throws IOException {
+    MemoryOutputSink out = new MemoryOutputSink();
+    solve(in, out);
+    return out.getContents();
+  }
+  
+  /**
+   * Solves a single test case of the Always Turn Left Code Jam, writing the maze description one
+   * room at a time as it is interpreted, rather than building it up in memory first.
+   */
+  @Override
+  protected void solve(Scanner in, OutputSink out) throws IOException {
     String testCase = in.nextLine();
     PerfectMaze maze = inputInterpreter.interpret(testCase);
     
-    StringBuilder messageBuilder = new StringBuilder();
     int currentColumn = 0;
     final int numColumns = maze.getNumColumns();
     for (CoordinateWalls coordinate : maze) {
-      messageBuilder.append(coordinateInterpreter.interpret(coordinate));
+      out.append(coordinateInterpreter.interpret(coordinate));
       if (++currentColumn == numColumns) {
-        messageBuilder.append(lineSeparator());
+        out.newLine();
         currentColumn = 0;
       }
     }
-    return messageBuilder.toString();
   }
   
   /**
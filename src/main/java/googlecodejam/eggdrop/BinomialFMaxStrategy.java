@@ -0,0 +1,110 @@
+package googlecodejam.eggdrop;
+
+import static googlecodejam.eggdrop.EggDropCodeJamSolver.LARGER_THAN_MAX_F_VALUE;
+import static googlecodejam.eggdrop.EggDropCodeJamSolver.MAX_F_VALUE;
+
+import java.math.BigInteger;
+
+/**
+ * An {@code FMaxStrategy} that evaluates F<sub>max</sub> directly from its closed form,
+ * F(D,B) = C(D,1) + C(D,2) + ... + C(D,B), where C is the binomial coefficient. No table is built,
+ * so this starts instantly and uses constant memory, whatever the maximum F value.
+ * <p>
+ * Each binomial coefficient is found from the one before it, and the sum stops as soon as it
+ * exceeds the maximum F value, so no more terms are ever added than the bit length of that
+ * maximum: all of them when D is at most that length, and fewer as D grows past it, since the sum
+ * exceeds the maximum sooner.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public class BinomialFMaxStrategy implements FMaxStrategy {
+  
+  /**
+   * The bound below which a binomial coefficient can be multiplied by any number of drops without
+   * overflowing.
+   */
+  private static final long SAFE_BINOMIAL = 1L << 32;
+  
+  /**
+   * The maximum F value of this strategy.
+   */
+  private final long maxF;
+  
+  /**
+   * Constructs a {@code BinomialFMaxStrategy} whose maximum F value is
+   * {@link EggDropCodeJamSolver#MAX_F_VALUE}.
+   */
+  public BinomialFMaxStrategy() {
+    this(MAX_F_VALUE);
+  }
+  
+  /**
+   * Constructs a {@code BinomialFMaxStrategy} with the given maximum F value.
+   * 
+   * @param maxF The maximum F value, up to {@link Long#MAX_VALUE}. Any larger F<sub>max</sub> is
+   *          returned as {@value EggDropCodeJamSolver#LARGER_THAN_MAX_F_VALUE}.
+   * @throws IllegalArgumentException If the maximum is less than {@link Integer#MAX_VALUE}, the
+   *           largest number of floors.
+   */
+  public BinomialFMaxStrategy(long maxF) {
+    if (maxF < Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Maximum F value must be at least " + Integer.MAX_VALUE);
+    }
+    this.maxF = maxF;
+  }
+  
+  /**
+   * Sums the binomial coefficients of F<sub>max</sub>, saturating at the maximum F value.
+   */
+  @Override
+  public long fMax(int drops, int breaks) {
+    // C(D,i) is 0 for i > D, so those terms add nothing.
+    int terms = Math.min(drops, breaks);
+    long sum = 0;
+    long binomial = 1;
+    for (int i = 1; i <= terms; i++) {
+      // C(D,i) = C(D,i-1) * (D-i+1) / i, which is exact. D-i+1 is under 2^31,
+      // so while C(D,i-1) is under 2^32 the product cannot overflow. Beyond
+      // that, it is split into quotient and remainder so that only the first
+      // part can overflow, in which case the coefficient alone is beyond any
+      // maximum.
+      long factor = drops - i + 1;
+      if (binomial < SAFE_BINOMIAL) {
+        binomial = binomial * factor / i;
+      } else {
+        long quotient = binomial / i;
+        long remainder = binomial % i * factor / i;
+        if (quotient > (Long.MAX_VALUE - remainder) / factor) {
+          return LARGER_THAN_MAX_F_VALUE;
+        }
+        binomial = quotient * factor + remainder;
+      }
+      if (binomial > maxF - sum) {
+        return LARGER_THAN_MAX_F_VALUE;
+      }
+      sum += binomial;
+    }
+    return sum;
+  }
+  
+  /**
+   * Finds the exact F<sub>max</sub> value, however large it is. The result has up to about
+   * min(D,B)&middot;log<sub>2</sub>(D) bits, and takes min(D,B) steps, so this is only practical
+   * when either the drops or the breaks are small.
+   * 
+   * @param drops The number of drops allowed, at least 0.
+   * @param breaks The number of breaks allowed, at least 0.
+   * @return The highest floor that is solvable given drops and breaks.
+   */
+  public static BigInteger exactFMax(int drops, int breaks) {
+    int terms = Math.min(drops, breaks);
+    BigInteger sum = BigInteger.ZERO;
+    BigInteger binomial = BigInteger.ONE;
+    for (int i = 1; i <= terms; i++) {
+      binomial = binomial.multiply(BigInteger.valueOf(drops - i + 1)).divide(BigInteger.valueOf(i));
+      sum = sum.add(binomial);
+    }
+    return sum;
+  }
+}
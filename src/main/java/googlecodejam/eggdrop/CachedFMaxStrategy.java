@@ -0,0 +1,495 @@
+package googlecodejam.eggdrop;
+
+import static googlecodejam.eggdrop.EggDropCodeJamSolver.LARGER_THAN_MAX_F_VALUE;
+import static googlecodejam.eggdrop.EggDropCodeJamSolver.MAX_F_VALUE;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An {@code FMaxStrategy} that looks F<sub>max</sub> values up in a cache. Lookups are a single
+ * array access. The cache for the default maximum F value is loaded at most once per JVM, lazily,
+ * and shared by every {@code CachedFMaxStrategy}, so creating one is free. It is loaded from a
+ * precomputed resource, and only computed if that resource cannot be used.
+ * <p>
+ * Only the F<sub>max</sub> values that are neither trivial nor larger than the maximum F value are
+ * cached, as one column per B value, so the whole cache for the default maximum,
+ * {@link EggDropCodeJamSolver#MAX_F_VALUE}, is a few thousand {@code long}s. F<sub>max</sub> for
+ * B &le; 2 has a closed form, and a column stops at the first D value whose F<sub>max</sub> is too
+ * large. Because each column is sorted, it also finds D<sub>min</sub> with a binary search.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public class CachedFMaxStrategy implements FMaxStrategy {
+  
+  /**
+   * The maximum B value that is stored in the shared cache. Any B value over this number will
+   * result in data greater than {@link EggDropCodeJamSolver#MAX_F_VALUE} if D &gt; B. If D &le; B,
+   * then F(D,B) is equivalent to F(D,{@value}) because the number of breaks is at least the number
+   * of drops.
+   */
+  static final int MAX_B_VALUE = 32;
+  /**
+   * The smallest B value that is stored in the cache. Smaller B values use a closed form.
+   */
+  static final int MIN_B_VALUE = 3;
+  /**
+   * The number of D ranges that the parallel builder gives each thread, so that a thread that
+   * finishes early can take another range.
+   */
+  private static final int RANGES_PER_THREAD = 4;
+  
+  /**
+   * Holds the cache, which every {@code CachedFMaxStrategy} shares. The JVM loads the cache when
+   * this class is initialized, the first time the cache is used, and publishes it safely to every
+   * thread that uses it.
+   */
+  private static final class CacheHolder {
+    
+    /**
+     * The cache that stores each F<sub>max</sub> given a D value and a B value. To access the
+     * cache correctly, use [B][D] to get the F<sub>max</sub> for that (D,B) value. Each column ends
+     * at the first D value whose F<sub>max</sub> is larger than
+     * {@link EggDropCodeJamSolver#MAX_F_VALUE}. These D values were originally determined
+     * experimentally, and are given in the following table, in descending B order:
+     * <table summary="First D,B value that is greater than the maximum allowed F value based on the
+     * B">
+     * <tr>
+     * <th>B
+     * <th>D
+     * <tr>
+     * <td>32
+     * <td>33
+     * <tr>
+     * <td>31
+     * <td>33
+     * <tr>
+     * <td>30
+     * <td>33
+     * <tr>
+     * <td>29
+     * <td>33
+     * <tr>
+     * <td>28
+     * <td>33
+     * <tr>
+     * <td>27
+     * <td>33
+     * <tr>
+     * <td>26
+     * <td>33
+     * <tr>
+     * <td>25
+     * <td>33
+     * <tr>
+     * <td>24
+     * <td>33
+     * <tr>
+     * <td>23
+     * <td>33
+     * <tr>
+     * <td>22
+     * <td>33
+     * <tr>
+     * <td>21
+     * <td>33
+     * <tr>
+     * <td>20
+     * <td>33
+     * <tr>
+     * <td>19
+     * <td>33
+     * <tr>
+     * <td>18
+     * <td>33
+     * <tr>
+     * <td>17
+     * <td>33
+     * <tr>
+     * <td>16
+     * <td>34
+     * <tr>
+     * <td>15
+     * <td>34
+     * <tr>
+     * <td>14
+     * <td>35
+     * <tr>
+     * <td>13
+     * <td>36
+     * <tr>
+     * <td>12
+     * <td>38
+     * <tr>
+     * <td>11
+     * <td>41
+     * <tr>
+     * <td>10
+     * <td>45
+     * <tr>
+     * <td>9
+     * <td>52
+     * <tr>
+     * <td>8
+     * <td>63
+     * <tr>
+     * <td>7
+     * <td>83
+     * <tr>
+     * <td>6
+     * <td>123
+     * <tr>
+     * <td>5
+     * <td>221
+     * <tr>
+     * <td>4
+     * <td>568
+     * <tr>
+     * <td>3
+     * <td>2,954
+     * <tr>
+     * <td>2
+     * <td>92,682
+     * <tr>
+     * <td>1
+     * <td>n/a
+     * <tr>
+     * <td>0
+     * <td>n/a
+     * </table>
+     * Columns below {@value #MIN_B_VALUE} are {@code null}.
+     */
+    static final long[][] F_MAX_CACHE = loadCache();
+  }
+  
+  /**
+   * The maximum F value of this strategy. Any larger F<sub>max</sub> is returned as
+   * {@value EggDropCodeJamSolver#LARGER_THAN_MAX_F_VALUE}.
+   */
+  private final long maxF;
+  /**
+   * The largest B value with its own column in the cache. F(D,B) for any larger B value is either
+   * equal to F(D,maxB), or larger than the maximum F value.
+   */
+  private final int maxB;
+  /**
+   * The cache of this strategy, or {@code null} if it uses the shared cache.
+   */
+  private final long[][] fMaxCache;
+  
+  /**
+   * Creates a {@code CachedFMaxStrategy} whose maximum F value is
+   * {@link EggDropCodeJamSolver#MAX_F_VALUE}. The shared cache is not loaded until it is first
+   * used, or until it is {@linkplain #prewarm() prewarmed}.
+   */
+  public CachedFMaxStrategy() {
+    this(MAX_F_VALUE);
+  }
+  
+  /**
+   * Creates a {@code CachedFMaxStrategy} with the given maximum F value. Unless the maximum is
+   * {@link EggDropCodeJamSolver#MAX_F_VALUE}, which uses the shared cache, a cache sized for it is
+   * built now, in parallel on the common {@code ForkJoinPool}. The cache grows with the maximum:
+   * for {@link Long#MAX_VALUE}, it is a few million {@code long}s, most of them for three breaks.
+   * 
+   * @param maxF The maximum F value. Any larger F<sub>max</sub> is returned as
+   *          {@value EggDropCodeJamSolver#LARGER_THAN_MAX_F_VALUE}.
+   * @throws IllegalArgumentException If the maximum is less than {@link Integer#MAX_VALUE}, the
+   *           largest number of floors.
+   */
+  public CachedFMaxStrategy(long maxF) {
+    if (maxF < Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Maximum F value must be at least " + Integer.MAX_VALUE);
+    }
+    this.maxF = maxF;
+    this.maxB = maxBreaks(maxF);
+    this.fMaxCache = maxF == MAX_F_VALUE ? null
+                                         : initializeCache(maxF, ForkJoinPool.commonPool());
+  }
+  
+  /**
+   * Finds the largest B value that needs its own column in a cache. For any B value of at least the
+   * bit length of the maximum F value, F(D,B) is 2<sup>D</sup>-1 while D &le; B, which is the same
+   * for every such B value, and is larger than the maximum otherwise.
+   * 
+   * @param maxF The maximum F value of the cache.
+   * @return The bit length of the maximum F value.
+   */
+  static int maxBreaks(long maxF) {
+    return Long.SIZE - Long.numberOfLeadingZeros(maxF);
+  }
+  
+  /**
+   * Loads the shared cache on the current thread, if it has not been loaded already. Calling this
+   * at start-up keeps the load off the path of the first query.
+   */
+  public static void prewarm() {
+    // Reading the field is enough to initialize the holder class.
+    Objects.requireNonNull(CacheHolder.F_MAX_CACHE);
+  }
+  
+  /**
+   * Loads the shared cache on the given {@code Executor}, if it has not been loaded already.
+   * 
+   * @param executor The {@code Executor} that loads the cache.
+   * @return A {@code CompletableFuture} that completes once the cache is loaded.
+   */
+  public static CompletableFuture<Void> prewarm(Executor executor) {
+    return CompletableFuture.runAsync(CachedFMaxStrategy::prewarm, executor);
+  }
+  
+  /**
+   * Loads the F<sub>max</sub> cache from its precomputed resource, or computes it if the resource
+   * is missing, corrupt, or stale.
+   * 
+   * @return A fully initialized cache with a column for each B value from {@value #MIN_B_VALUE} to
+   *         {@value #MAX_B_VALUE}.
+   */
+  private static long[][] loadCache() {
+    try {
+      return FMaxCacheResource.load(MIN_B_VALUE, MAX_B_VALUE, MAX_F_VALUE);
+    } catch (IOException e) {
+      return initializeCache();
+    }
+  }
+  
+  /**
+   * Initializes the F<sub>max</sub> cache with all of its values. This is only called when the
+   * resource cannot be used, to generate the resource, and by benchmarks.
+   * 
+   * @return A fully initialized cache with a column for each B value from {@value #MIN_B_VALUE} to
+   *         {@value #MAX_B_VALUE}.
+   */
+  static long[][] initializeCache() {
+    return initializeCache(MAX_F_VALUE);
+  }
+  
+  /**
+   * Initializes an F<sub>max</sub> cache with all of its values, for the given maximum F value.
+   * 
+   * @param maxF The maximum F value of the cache.
+   * @return A fully initialized cache with a column for each B value from {@value #MIN_B_VALUE} to
+   *         the {@linkplain #maxBreaks(long) bit length} of the maximum F value.
+   */
+  static long[][] initializeCache(long maxF) {
+    final long[][] cache = new long[maxBreaks(maxF) + 1][];
+    
+    // Each column is built from the one before it, using
+    // F(D,B) = F(D-1,B-1) + F(D-1,B) + 1. A column is never longer than the
+    // one before it, as F(D,B) > F(D-1,B-1). The column before the first one
+    // uses the closed form.
+    long[] column = new long[64];
+    long[] previous = null;
+    for (int b = MIN_B_VALUE; b < cache.length; b++) {
+      int d = 1;
+      for (;; d++) {
+        long previousBreaks;
+        if (b == MIN_B_VALUE) {
+          previousBreaks = fMaxForTwoBreaks(d - 1);
+        } else if (d - 1 < previous.length) {
+          previousBreaks = previous[d - 1];
+        } else {
+          // F(D-1,B-1) is already too large.
+          break;
+        }
+        // Compared this way, so that the sum cannot overflow.
+        if (previousBreaks > maxF - column[d - 1] - 1) {
+          break;
+        }
+        if (d == column.length) {
+          column = Arrays.copyOf(column, column.length * 2);
+        }
+        column[d] = previousBreaks + column[d - 1] + 1;
+      }
+      cache[b] = previous = Arrays.copyOf(column, d);
+    }
+    return cache;
+  }
+  
+  /**
+   * Initializes an F<sub>max</sub> cache with all of its values, for the given maximum F value, in
+   * parallel. The result is identical to {@link #initializeCache(long)}.
+   * <p>
+   * Each row of the cache depends on the row before it, so the rows are split into ranges of D
+   * values instead. The first row of each range is seeded with the closed form, F(D,B) = C(D,1) +
+   * ... + C(D,B), and the rest of the range is built from it with the same recurrence as the
+   * sequential builder, so no range waits on another. The ranges are built on the given pool.
+   * 
+   * @param maxF The maximum F value of the cache.
+   * @param pool The pool that the ranges are built on.
+   * @return A fully initialized cache with a column for each B value from {@value #MIN_B_VALUE} to
+   *         the {@linkplain #maxBreaks(long) bit length} of the maximum F value.
+   */
+  static long[][] initializeCache(long maxF, ForkJoinPool pool) {
+    final long[][] cache = new long[maxBreaks(maxF) + 1][];
+    final FMaxStrategy closedForm = new BinomialFMaxStrategy(maxF);
+    for (int b = MIN_B_VALUE; b < cache.length; b++) {
+      cache[b] = new long[columnLength(closedForm, b)];
+    }
+    
+    // Every other column is at most as long as the first one.
+    int rows = cache[MIN_B_VALUE].length;
+    int ranges = Math.min(rows, pool.getParallelism() * RANGES_PER_THREAD);
+    CompletableFuture<?>[] builds = new CompletableFuture<?>[ranges];
+    for (int range = 0; range < ranges; range++) {
+      int from = (int) ((long) rows * range / ranges);
+      int to = (int) ((long) rows * (range + 1) / ranges);
+      builds[range] = CompletableFuture.runAsync(() -> initializeRows(cache, closedForm, from, to),
+        pool);
+    }
+    CompletableFuture.allOf(builds).join();
+    return cache;
+  }
+  
+  /**
+   * Finds the length of a cache column: the first D value whose F<sub>max</sub> is larger than the
+   * maximum F value.
+   * 
+   * @param closedForm The closed form, with the maximum F value of the cache.
+   * @param breaks The B value of the column, at least {@value #MIN_B_VALUE}.
+   * @return The number of D values in the column.
+   */
+  private static int columnLength(FMaxStrategy closedForm, int breaks) {
+    // F(D,B) grows with D, so double until it is too large, then bisect.
+    int tooLarge = 1;
+    while (closedForm.fMax(tooLarge, breaks) != LARGER_THAN_MAX_F_VALUE) {
+      tooLarge *= 2;
+    }
+    int fits = tooLarge / 2;
+    while (tooLarge - fits > 1) {
+      int middle = (fits + tooLarge) >>> 1;
+      if (closedForm.fMax(middle, breaks) == LARGER_THAN_MAX_F_VALUE) {
+        tooLarge = middle;
+      } else {
+        fits = middle;
+      }
+    }
+    return tooLarge;
+  }
+  
+  /**
+   * Fills a range of rows of a cache whose columns have already been sized.
+   * 
+   * @param cache The cache.
+   * @param closedForm The closed form that the first row of the range is seeded with.
+   * @param from The first D value of the range, inclusive.
+   * @param to The last D value of the range, exclusive.
+   */
+  private static void initializeRows(long[][] cache, FMaxStrategy closedForm, int from, int to) {
+    for (int b = MIN_B_VALUE; b < cache.length; b++) {
+      long[] column = cache[b];
+      if (from >= column.length) {
+        // Columns only get shorter.
+        return;
+      }
+      column[from] = closedForm.fMax(from, b);
+      int end = Math.min(to, column.length);
+      for (int d = from + 1; d < end; d++) {
+        long previousBreaks = b == MIN_B_VALUE ? fMaxForTwoBreaks(d - 1) : cache[b - 1][d - 1];
+        column[d] = previousBreaks + column[d - 1] + 1;
+      }
+    }
+  }
+  
+  /**
+   * Returns the cache column for a number of breaks.
+   * 
+   * @param breaks The number of breaks allowed, at least {@value #MIN_B_VALUE}.
+   * @return The column, which is F<sub>max</sub> for each D value until it is too large.
+   */
+  private long[] column(int breaks) {
+    long[][] cache = fMaxCache != null ? fMaxCache : CacheHolder.F_MAX_CACHE;
+    return cache[Math.min(breaks, maxB)];
+  }
+  
+  /**
+   * Finds F(D,2) = D + D(D-1)/2 = D(D+1)/2.
+   * 
+   * @param drops The number of drops allowed.
+   * @return F<sub>max</sub> with two breaks, which may be larger than the maximum F value.
+   */
+  private static long fMaxForTwoBreaks(long drops) {
+    return drops * (drops + 1) / 2;
+  }
+  
+  /**
+   * Finds the smallest D value for which D(D+1)/2 &ge; floors.
+   * 
+   * @param floors The number of floors.
+   * @return The smallest D value that solves the floors with two breaks.
+   */
+  private static int minDropsForTwoBreaks(int floors) {
+    // Invert the quadratic, then correct the rounding of the square root.
+    int drops = (int) Math.ceil((Math.sqrt(8.0 * floors + 1) - 1) / 2);
+    while (drops > 0 && fMaxForTwoBreaks(drops - 1) >= floors) {
+      drops--;
+    }
+    while (fMaxForTwoBreaks(drops) < floors) {
+      drops++;
+    }
+    return drops;
+  }
+  
+  /**
+   * Uses the cache to find F<sub>max</sub>, or a closed form where the cache does not reach.
+   */
+  @Override
+  public long fMax(int drops, int breaks) {
+    // If no drops or breaks allowed, than you cannot determine any floor.
+    if (drops == 0 || breaks == 0) {
+      return 0;
+    }
+    
+    if (breaks == 1) {
+      /*
+       * Do not even use cache, this can handle any number. Also, drops is always less than the Max
+       * F value.
+       */
+      return drops;
+    }
+    
+    if (breaks == 2) {
+      long fMax = fMaxForTwoBreaks(drops);
+      return fMax > maxF ? LARGER_THAN_MAX_F_VALUE : fMax;
+    }
+    
+    /*
+     * If the breaks is greater than the max value, then use the max break value instead. Anything
+     * beyond this value is out of range for F value or a copy of the max value, as any situation
+     * where B > D, F(D,B) = F(D, MaxB)
+     */
+    long[] column = column(breaks);
+    
+    // If data is beyond the column, the answer must be greater than the max F value.
+    return drops < column.length ? column[drops] : LARGER_THAN_MAX_F_VALUE;
+  }
+  
+  /**
+   * Uses the closed forms, or a binary search in the cache.
+   */
+  @Override
+  public int minDrops(int floors, int breaks) {
+    if (floors <= 0) {
+      return 0;
+    }
+    if (breaks == 0) {
+      return Integer.MAX_VALUE;
+    }
+    if (breaks == 1) {
+      return floors;
+    }
+    if (breaks == 2) {
+      return minDropsForTwoBreaks(floors);
+    }
+    long[] column = column(breaks);
+    int index = Arrays.binarySearch(column, floors);
+    // Past the end of the column, the first D value is too large, so solves
+    // any number of floors.
+    return index >= 0 ? index : -index - 1;
+  }
+}
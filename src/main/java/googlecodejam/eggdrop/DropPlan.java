@@ -0,0 +1,173 @@
+package googlecodejam.eggdrop;
+
+import static googlecodejam.eggdrop.EggDropCodeJamSolver.LARGER_THAN_MAX_F_VALUE;
+
+/**
+ * A {@code DropPlan} is an optimal strategy for finding the highest floor of a building that an egg
+ * can be dropped from without breaking, played one drop at a time. It says which floor to drop
+ * from next, is told whether the egg broke, and repeats until the floor is known.
+ * <p>
+ * The plan never builds its decision tree, which has a node for every floor. Each step is decided
+ * from the floors that are still unknown and the drops and breaks that are left: dropping from
+ * F(D-1,B-1)+1 floors above the highest known safe floor leaves, if the egg breaks, exactly the
+ * floors that the remaining D-1 drops and B-1 breaks can solve, and if it does not, at most the
+ * floors that D-1 drops and B breaks can solve. Each step costs one F<sub>max</sub> lookup from the
+ * solver's {@code FMaxStrategy}, or, if the drops and breaks can solve more floors than its maximum
+ * F value, from a {@code BinomialFMaxStrategy} whose maximum is {@link Long#MAX_VALUE}, so that no
+ * F<sub>max</sub> value that the plan relies on is ever saturated.
+ * <p>
+ * A {@code DropPlan} is not thread-safe.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ * @see EggDropCodeJamSolver#planDrops(long, int, int)
+ */
+public final class DropPlan {
+  
+  /**
+   * The strategy that F<sub>max</sub> values are found with when they are larger than the maximum F
+   * value of the solver's strategy.
+   */
+  private static final FMaxStrategy EXACT_STRATEGY = new BinomialFMaxStrategy(Long.MAX_VALUE);
+  
+  /**
+   * The strategy that F<sub>max</sub> values are found with.
+   */
+  private final FMaxStrategy fMaxStrategy;
+  /**
+   * The highest floor known to be safe, or 0 if none is.
+   */
+  private long highestSafeFloor;
+  /**
+   * The lowest floor known to break an egg, or one above the top floor if none is.
+   */
+  private long lowestBreakingFloor;
+  /**
+   * The number of drops left.
+   */
+  private int drops;
+  /**
+   * The number of breaks left.
+   */
+  private int breaks;
+  /**
+   * The floor that the next drop is from, or 0 if it has not been decided yet.
+   */
+  private long nextFloor;
+  
+  /**
+   * Constructs a {@code DropPlan} for a building.
+   * 
+   * @param fMaxStrategy The strategy that F<sub>max</sub> values are found with.
+   * @param floors The number of floors in the building.
+   * @param drops The number of drops allowed.
+   * @param breaks The number of breaks allowed.
+   * @throws IllegalArgumentException If any argument is negative, or <i>Solvable(floors, drops,
+   *           breaks)</i> is not true.
+   */
+  DropPlan(FMaxStrategy fMaxStrategy, long floors, int drops, int breaks) {
+    if (floors < 0 || drops < 0 || breaks < 0) {
+      throw new IllegalArgumentException("Floors, drops, and breaks must not be negative");
+    }
+    long fMax = fMaxStrategy.fMax(drops, breaks);
+    if (fMax == LARGER_THAN_MAX_F_VALUE) {
+      // The floors may be above the strategy's maximum F value, where it can
+      // no longer tell solvable from unsolvable, so check and plan exactly.
+      fMaxStrategy = EXACT_STRATEGY;
+      fMax = fMaxStrategy.fMax(drops, breaks);
+    }
+    if (fMax != LARGER_THAN_MAX_F_VALUE && fMax < floors) {
+      throw new IllegalArgumentException("Not solvable: " + floors + " " + drops + " " + breaks);
+    }
+    this.fMaxStrategy = fMaxStrategy;
+    this.lowestBreakingFloor = floors + 1;
+    this.drops = drops;
+    this.breaks = breaks;
+  }
+  
+  /**
+   * Determines whether the highest safe floor is known.
+   * 
+   * @return {@code true} if no more drops are needed.
+   */
+  public boolean isComplete() {
+    return lowestBreakingFloor - highestSafeFloor == 1;
+  }
+  
+  /**
+   * Returns the floor that the next egg should be dropped from. Until its outcome is
+   * {@linkplain #record(boolean) recorded}, this returns the same floor.
+   * 
+   * @return The floor of the next drop.
+   * @throws IllegalStateException If the plan is complete, or no drops are left.
+   */
+  public long nextFloor() {
+    if (isComplete()) {
+      throw new IllegalStateException("The highest safe floor is already known");
+    }
+    if (drops == 0) {
+      throw new IllegalStateException("No drops are left");
+    }
+    if (nextFloor == 0) {
+      long unknownFloors = lowestBreakingFloor - highestSafeFloor - 1;
+      long belowIfBroken = fMaxStrategy.fMax(drops - 1, breaks - 1);
+      // If the egg breaks, the floors below the drop must be solvable with
+      // one less drop and break. Never drop above the unknown floors.
+      if (belowIfBroken == LARGER_THAN_MAX_F_VALUE || belowIfBroken >= unknownFloors) {
+        nextFloor = highestSafeFloor + unknownFloors;
+      } else {
+        nextFloor = highestSafeFloor + belowIfBroken + 1;
+      }
+    }
+    return nextFloor;
+  }
+  
+  /**
+   * Records the outcome of dropping an egg from the {@linkplain #nextFloor() next floor}.
+   * 
+   * @param broke Whether the egg broke.
+   * @throws IllegalStateException If the plan is complete, or no drops are left.
+   */
+  public void record(boolean broke) {
+    long floor = nextFloor();
+    if (broke) {
+      lowestBreakingFloor = floor;
+      breaks--;
+    } else {
+      highestSafeFloor = floor;
+    }
+    drops--;
+    nextFloor = 0;
+  }
+  
+  /**
+   * Returns the highest floor that an egg can be dropped from without breaking.
+   * 
+   * @return The highest safe floor, or 0 if an egg breaks from every floor.
+   * @throws IllegalStateException If the plan is not complete.
+   */
+  public long result() {
+    if (!isComplete()) {
+      throw new IllegalStateException("The highest safe floor is not known yet");
+    }
+    return highestSafeFloor;
+  }
+  
+  /**
+   * Returns the number of drops that are left.
+   * 
+   * @return The drops left.
+   */
+  public int getDropsLeft() {
+    return drops;
+  }
+  
+  /**
+   * Returns the number of breaks that are left.
+   * 
+   * @return The breaks left.
+   */
+  public int getBreaksLeft() {
+    return breaks;
+  }
+}
@@ -1,10 +1,16 @@
 package googlecodejam.eggdrop;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
+import googlecodejam.CodeJamTokenizer;
 import googlecodejam.GoogleCodeJamSolver;
+import googlecodejam.OutputSink;
 
 /**
  * An {@code EggDropCodeJamSolver} solves the "Egg Drop" Code Jam.
@@ -87,196 +93,72 @@ import googlecodejam.GoogleCodeJamSolver;
 public class EggDropCodeJamSolver extends GoogleCodeJamSolver {
   
   /**
-   * The maximum F value that can be returned from the {@link #solveForF(int, int)} method. If the
-   * returned value would be larger than this, {@link #LARGER_THAN_MAX_F_VALUE} is returned instead.
+   * The maximum F value that can be returned from the {@link #solveForF(int, int)} method by
+   * default, as the Code Jam requires. If the returned value would be larger than this,
+   * {@link #LARGER_THAN_MAX_F_VALUE} is returned instead. A larger maximum, up to
+   * {@link Long#MAX_VALUE}, can be given to the {@code FMaxStrategy}.
    */
   public static final long MAX_F_VALUE = 0x1_0000_0000L - 1;
   /**
-   * The value that is returned if an F<sub>max</sub> value is greater than {@link #MAX_F_VALUE}.
+   * The value that is returned if an F<sub>max</sub> value is greater than the maximum F value,
+   * {@link #MAX_F_VALUE} by default.
    */
   public static final long LARGER_THAN_MAX_F_VALUE = -1L;
   
   /**
-   * The maximum D value that is used to store F<sub>max</sub> values in the cache. This value was
-   * experimentally determined by finding the first (D,B) value for each B value that exceeds
-   * {@link #MAX_F_VALUE}. These values are given in the following table, in descending B order:
-   * <table summary="First D,B value that is greater than the maximum allowed F value based on the
-   * B">
-   * <tr>
-   * <th>B
-   * <th>D
-   * <tr>
-   * <td>32
-   * <td>32
-   * <tr>
-   * <td>31
-   * <td>33
-   * <tr>
-   * <td>30
-   * <td>33
-   * <tr>
-   * <td>29
-   * <td>33
-   * <tr>
-   * <td>28
-   * <td>33
-   * <tr>
-   * <td>27
-   * <td>33
-   * <tr>
-   * <td>26
-   * <td>33
-   * <tr>
-   * <td>25
-   * <td>33
-   * <tr>
-   * <td>24
-   * <td>33
-   * <tr>
-   * <td>23
-   * <td>33
-   * <tr>
-   * <td>22
-   * <td>33
-   * <tr>
-   * <td>21
-   * <td>33
-   * <tr>
-   * <td>20
-   * <td>33
-   * <tr>
-   * <td>19
-   * <td>33
-   * <tr>
-   * <td>18
-   * <td>33
-   * <tr>
-   * <td>17
-   * <td>33
-   * <tr>
-   * <td>16
-   * <td>34
-   * <tr>
-   * <td>15
-   * <td>34
-   * <tr>
-   * <td>14
-   * <td>35
-   * <tr>
-   * <td>13
-   * <td>36
-   * <tr>
-   * <td>12
-   * <td>38
-   * <tr>
-   * <td>11
-   * <td>41
-   * <tr>
-   * <td>10
-   * <td>45
-   * <tr>
-   * <td>9
-   * <td>52
-   * <tr>
-   * <td>8
-   * <td>63
-   * <tr>
-   * <td>7
-   * <td>83
-   * <tr>
-   * <td>6
-   * <td>123
-   * <tr>
-   * <td>5
-   * <td>221
-   * <tr>
-   * <td>4
-   * <td>568
-   * <tr>
-   * <td>3
-   * <td>2,954
-   * <tr>
-   * <td>2
-   * <td>92,682
-   * <tr>
-   * <td>1
-   * <td>n/a
-   * <tr>
-   * <td>0
-   * <td>n/a
-   * </table>
+   * The number of test cases that are read, solved, and formatted together when solving in bulk.
    */
-  private static final int MAX_D_VALUE = 92_682;
+  private static final int BULK_BLOCK_SIZE = 1 << 16;
   /**
-   * The maximum B value that is stored in the cache. Any B value over this number will result in
-   * data greater than {@link #MAX_F_VALUE} if D &ge; B. If D &lt; B, then cache[D][B] is equivalent
-   * to cache[D][MAX_B_VALUE] because the number of breaks is greater than the number of drops.
+   * The start of each line of the results, as {@link #caseNumber(int)} formats it.
    */
-  private static final int MAX_B_VALUE = 32;
+  private static final byte[] CASE_PREFIX = "Case #".getBytes(StandardCharsets.US_ASCII);
+  /**
+   * The system line separator, which ends each line of the results.
+   */
+  private static final byte[] LINE_SEPARATOR = System.lineSeparator()
+                                                     .getBytes(StandardCharsets.US_ASCII);
+  /**
+   * The longest line of the results, in bytes: the case number, a {@code long}, and two
+   * {@code int}s, each with a sign, and the separators between them.
+   */
+  private static final int MAX_LINE_LENGTH = CASE_PREFIX.length + 10 + 2 + 20 + 1 + 11 + 1 + 11
+                                             + LINE_SEPARATOR.length;
   
   /**
-   * The cache that stores each F<sub>max</sub> given a D value and a B value. To access the cache
-   * correctly, use [D][B] to get the F<sub>max</sub> for that (D,B) value.
+   * The strategy used to find each F<sub>max</sub> value.
    */
-  private final long[][] fMaxCache;
+  private final FMaxStrategy fMaxStrategy;
   
   /**
-   * Creates an {@code EggDropCodeJamSolver}. After this is constructed, {@link #go(String[])}
-   * should be called on this object to solve the Code Jam.
+   * Creates an {@code EggDropCodeJamSolver} that finds F<sub>max</sub> values with a
+   * {@code CachedFMaxStrategy}. After this is constructed, {@link #go(String[])} should be called
+   * on this object to solve the Code Jam.
    */
   public EggDropCodeJamSolver() {
-    super();
-    fMaxCache = initializeCache();
+    this(new CachedFMaxStrategy());
   }
   
   /**
-   * Initializes the F<sub>max</sub> cache with all of its values.
+   * Creates an {@code EggDropCodeJamSolver} that finds F<sub>max</sub> values with the given
+   * strategy. After this is constructed, {@link #go(String[])} should be called on this object to
+   * solve the Code Jam.
    * 
-   * @return A fully initialized cache with all of the values from (0,0) to ({@value #MAX_D_VALUE},
-   *         {@value #MAX_B_VALUE}) for all (D,B) combinations.
+   * @param fMaxStrategy The strategy used to find each F<sub>max</sub> value.
    */
-  private long[][] initializeCache() {
-    // +1 to length of both dimensions since the constant is the max number
-    // for that dimension, and we are tracking 0 as an option in the cache.
-    final long[][] cache = new long[MAX_D_VALUE + 1][MAX_B_VALUE + 1];
-    
-    // If 0 drops are allowed, the maximum number of floors that can be
-    // determined is always 0.
-    Arrays.fill(cache[0], 0);
-    
-    // If 1 drop is allowed, the maximum number of floors that can be
-    // determined is always 1 (dropping on floor 1, does it break or not)
-    // unless the number of breaks allowed is 0.
-    Arrays.fill(cache[1], 1);
-    cache[1][0] = 0;
-    
-    // Track the minB value so that values to the right are auto-filled with
-    // the overlargeF value.
-    int minBValueOverFMax = 32;
-    
-    // Only go from D=2, others are handled in previous code.
-    for (int d = 2; d < cache.length; d++) {
-      
-      // If 0 breaks allowed, then the answer is always 0.
-      cache[d][0] = 0;
-      // If 1 break is allowed, then the answer is always d (1 floor at a
-      // time).
-      cache[d][1] = d;
-      if (d <= MAX_B_VALUE) {
-        long squareDBValue = (cache[d - 1][d - 1] + 1) * 2 - 1;
-        Arrays.fill(cache[d], d, MAX_B_VALUE + 1, squareDBValue);
-      }
-      for (int b = 2; b < d && b <= minBValueOverFMax; b++) {
-        cache[d][b] = cache[d - 1][b - 1] + cache[d - 1][b] + 1;
-        if (cache[d - 1][b - 1] == LARGER_THAN_MAX_F_VALUE
-            || cache[d - 1][b] == LARGER_THAN_MAX_F_VALUE || cache[d][b] > MAX_F_VALUE) {
-          Arrays.fill(cache[d], b, MAX_B_VALUE + 1, LARGER_THAN_MAX_F_VALUE);
-          minBValueOverFMax = b;
-          break;
-        }
-      }
-    }
-    return cache;
+  public EggDropCodeJamSolver(FMaxStrategy fMaxStrategy) {
+    super();
+    this.fMaxStrategy = Objects.requireNonNull(fMaxStrategy);
+  }
+  
+  /**
+   * Formats case numbers in the standard "Case #[number]: " format. This is final, because the
+   * bulk path, {@link #solveAll(CodeJamTokenizer, int, OutputSink)}, writes the same format as
+   * bytes without calling it, and every run must format case numbers the same way.
+   */
+  @Override
+  protected final String caseNumber(int testNumber) {
+    return super.caseNumber(testNumber);
   }
   
   /**
@@ -288,6 +170,167 @@ public class EggDropCodeJamSolver extends GoogleCodeJamSolver {
     int maxDrops = in.nextInt();
     int maxBreaks = in.nextInt();
     
+    return solve(maxFloors, maxDrops, maxBreaks);
+  }
+  
+  /**
+   * This solver reads its input through a {@code CodeJamTokenizer}.
+   */
+  @Override
+  protected boolean usesTokenizer() {
+    return true;
+  }
+  
+  /**
+   * Solves a single test case of the Egg Drop Google Code Jam.
+   */
+  @Override
+  protected String solve(CodeJamTokenizer in) throws IOException {
+    int maxFloors = in.nextInt();
+    int maxDrops = in.nextInt();
+    int maxBreaks = in.nextInt();
+    
+    return solve(maxFloors, maxDrops, maxBreaks);
+  }
+  
+  /**
+   * This solver solves sequential runs in bulk.
+   */
+  @Override
+  protected boolean solvesInBulk() {
+    return true;
+  }
+  
+  /**
+   * Solves every test case in blocks of {@value #BULK_BLOCK_SIZE}. Each block is read into
+   * {@code int} columns, solved by {@link #solveAll(int[], int[], int[], long[], int[], int[])},
+   * and formatted, case numbers and all, into a single byte array sized for the longest possible
+   * lines, which is handed to the sink at once. The columns and the array are reused for every
+   * block, so nothing is allocated for each test case.
+   */
+  @Override
+  protected void solveAll(CodeJamTokenizer in, int numTestCases, OutputSink out)
+      throws IOException {
+    int blockSize = Math.min(numTestCases, BULK_BLOCK_SIZE);
+    int[] floors = new int[blockSize];
+    int[] drops = new int[blockSize];
+    int[] breaks = new int[blockSize];
+    long[] fMax = new long[blockSize];
+    int[] dMin = new int[blockSize];
+    int[] bMin = new int[blockSize];
+    byte[] lines = new byte[blockSize * MAX_LINE_LENGTH];
+    for (int first = 1; first <= numTestCases; first += blockSize) {
+      int size = Math.min(blockSize, numTestCases - first + 1);
+      int count = 0;
+      try {
+        for (; count < size; count++) {
+          floors[count] = in.nextInt();
+          drops[count] = in.nextInt();
+          breaks[count] = in.nextInt();
+        }
+      } catch (RuntimeException | IOException e) {
+        // If the input is cut short, the cases before it are still answered,
+        // without hiding why the input ended.
+        try {
+          writeBlock(floors, drops, breaks, fMax, dMin, bMin, lines, first, count, out);
+        } catch (RuntimeException | IOException later) {
+          e.addSuppressed(later);
+        }
+        throw e;
+      }
+      writeBlock(floors, drops, breaks, fMax, dMin, bMin, lines, first, size, out);
+    }
+  }
+  
+  /**
+   * Solves and writes the results of a block of test cases that has been read into columns.
+   * 
+   * @param floors The floors of each test case.
+   * @param drops The drops of each test case.
+   * @param breaks The breaks of each test case.
+   * @param fMax The column that F<sub>max</sub> values are stored in.
+   * @param dMin The column that D<sub>min</sub> values are stored in.
+   * @param bMin The column that B<sub>min</sub> values are stored in.
+   * @param lines The array that the results are formatted into.
+   * @param first The number of the first test case of the block.
+   * @param count The number of test cases in the block.
+   * @param out The sink that the results are written to.
+   * @throws IOException If an I/O error occurs while writing the results.
+   */
+  private void writeBlock(int[] floors, int[] drops, int[] breaks, long[] fMax, int[] dMin,
+                          int[] bMin, byte[] lines, int first, int count, OutputSink out)
+      throws IOException {
+    solveRange(floors, drops, breaks, fMax, dMin, bMin, 0, count);
+    int length = 0;
+    for (int i = 0; i < count; i++) {
+      length = writeLine(lines, length, first + i, fMax[i], dMin[i], bMin[i]);
+    }
+    out.appendAscii(lines, 0, length);
+  }
+  
+  /**
+   * Formats a single line of the results into a byte array.
+   * 
+   * @param bytes The array being written to.
+   * @param offset The index that the line starts at.
+   * @param testNumber The number of the test case.
+   * @param fMax The F<sub>max</sub> value of the test case.
+   * @param dMin The D<sub>min</sub> value of the test case.
+   * @param bMin The B<sub>min</sub> value of the test case.
+   * @return The index just past the end of the line.
+   */
+  private static int writeLine(byte[] bytes, int offset, int testNumber, long fMax, int dMin,
+                               int bMin) {
+    System.arraycopy(CASE_PREFIX, 0, bytes, offset, CASE_PREFIX.length);
+    offset = writeDecimal(bytes, offset + CASE_PREFIX.length, testNumber);
+    bytes[offset++] = ':';
+    bytes[offset++] = ' ';
+    offset = writeDecimal(bytes, offset, fMax);
+    bytes[offset++] = ' ';
+    offset = writeDecimal(bytes, offset, dMin);
+    bytes[offset++] = ' ';
+    offset = writeDecimal(bytes, offset, bMin);
+    System.arraycopy(LINE_SEPARATOR, 0, bytes, offset, LINE_SEPARATOR.length);
+    return offset + LINE_SEPARATOR.length;
+  }
+  
+  /**
+   * Formats a number in decimal into a byte array, as {@link Long#toString(long)} would, without
+   * creating a {@code String}.
+   * 
+   * @param bytes The array being written to.
+   * @param offset The index that the number starts at.
+   * @param value The number.
+   * @return The index just past the end of the number.
+   */
+  static int writeDecimal(byte[] bytes, int offset, long value) {
+    if (value < 0) {
+      bytes[offset++] = '-';
+    } else {
+      // Work with the negative value, so that Long.MIN_VALUE does not overflow.
+      value = -value;
+    }
+    int digits = 1;
+    for (long rest = value / 10; rest != 0; rest /= 10) {
+      digits++;
+    }
+    int end = offset + digits;
+    for (int i = end - 1; i >= offset; i--) {
+      bytes[i] = (byte) ('0' - value % 10);
+      value /= 10;
+    }
+    return end;
+  }
+  
+  /**
+   * Solves a single test case of the Egg Drop Google Code Jam once its values have been read.
+   * 
+   * @param maxFloors The number of floors in the building.
+   * @param maxDrops The number of drops allowed.
+   * @param maxBreaks The number of breaks allowed.
+   * @return The F<sub>max</sub>, D<sub>min</sub>, and B<sub>min</sub> values, separated by spaces.
+   */
+  private String solve(int maxFloors, int maxDrops, int maxBreaks) {
     long fMax = solveForF(maxDrops, maxBreaks);
     int dMin = solveForD(maxFloors, maxDrops, maxBreaks);
     int bMin = solveForB(maxFloors, maxDrops, maxBreaks);
@@ -298,46 +341,118 @@ public class EggDropCodeJamSolver extends GoogleCodeJamSolver {
     return builder.toString();
   }
   
+  /**
+   * Solves many test cases at once, on the current thread. This is the same as
+   * {@link #solveAll(int[], int[], int[], long[], int[], int[], boolean)} without splitting the
+   * work.
+   * 
+   * @param floors The number of floors in the building, for each test case.
+   * @param drops The number of drops allowed, for each test case.
+   * @param breaks The number of breaks allowed, for each test case.
+   * @param fMax The array that each F<sub>max</sub> value is stored in.
+   * @param dMin The array that each D<sub>min</sub> value is stored in.
+   * @param bMin The array that each B<sub>min</sub> value is stored in.
+   * @throws IllegalArgumentException If the arrays are not all the same length.
+   */
+  public void solveAll(int[] floors, int[] drops, int[] breaks, long[] fMax, int[] dMin,
+                       int[] bMin) {
+    solveAll(floors, drops, breaks, fMax, dMin, bMin, false);
+  }
+  
+  /**
+   * Solves many test cases at once, storing the answer to the test case at each index of the input
+   * arrays at the same index of the output arrays. Nothing is allocated for each test case, so this
+   * is suited to millions of them.
+   * 
+   * @param floors The number of floors in the building, for each test case.
+   * @param drops The number of drops allowed, for each test case.
+   * @param breaks The number of breaks allowed, for each test case.
+   * @param fMax The array that each F<sub>max</sub> value is stored in.
+   * @param dMin The array that each D<sub>min</sub> value is stored in.
+   * @param bMin The array that each B<sub>min</sub> value is stored in.
+   * @param parallel Whether to split the test cases into one contiguous range for each core of the
+   *          common {@code ForkJoinPool}, and solve the ranges in parallel.
+   * @throws IllegalArgumentException If the arrays are not all the same length.
+   */
+  public void solveAll(int[] floors, int[] drops, int[] breaks, long[] fMax, int[] dMin,
+                       int[] bMin, boolean parallel) {
+    int length = floors.length;
+    if (drops.length != length || breaks.length != length || fMax.length != length
+        || dMin.length != length || bMin.length != length) {
+      throw new IllegalArgumentException("Arrays must all be the same length");
+    }
+    int ranges = parallel ? Math.min(length, ForkJoinPool.getCommonPoolParallelism()) : 1;
+    if (ranges <= 1) {
+      solveRange(floors, drops, breaks, fMax, dMin, bMin, 0, length);
+      return;
+    }
+    IntStream.range(0, ranges)
+             .parallel()
+             .forEach(range -> solveRange(floors, drops, breaks, fMax, dMin, bMin,
+               (int) ((long) length * range / ranges),
+               (int) ((long) length * (range + 1) / ranges)));
+  }
+  
+  /**
+   * Solves the test cases in a range of indexes of the bulk arrays.
+   * 
+   * @param floors The number of floors in the building, for each test case.
+   * @param drops The number of drops allowed, for each test case.
+   * @param breaks The number of breaks allowed, for each test case.
+   * @param fMax The array that each F<sub>max</sub> value is stored in.
+   * @param dMin The array that each D<sub>min</sub> value is stored in.
+   * @param bMin The array that each B<sub>min</sub> value is stored in.
+   * @param from The first index, inclusive.
+   * @param to The last index, exclusive.
+   */
+  private void solveRange(int[] floors, int[] drops, int[] breaks, long[] fMax, int[] dMin,
+                          int[] bMin, int from, int to) {
+    for (int i = from; i < to; i++) {
+      fMax[i] = solveForF(drops[i], breaks[i]);
+      dMin[i] = solveForD(floors[i], drops[i], breaks[i]);
+      bMin[i] = solveForB(floors[i], drops[i], breaks[i]);
+    }
+  }
+  
   /**
    * Solves for the F<sub>max</sub> value, given a number of drops and a number of breaks.
    * 
    * @param drops The number of drops allowed.
    * @param breaks The number of breaks allowed.
    * @return The highest floor that is solvable given drops and breaks, or
-   *         {@value LARGER_THAN_MAX_F_VALUE} if the highest floor is larger than 2<sup>32</sup>.
+   *         {@value LARGER_THAN_MAX_F_VALUE} if the highest floor is larger than the maximum F
+   *         value of the {@code FMaxStrategy}, which is {@value #MAX_F_VALUE} by default.
    */
   public long solveForF(int drops, int breaks) {
-    // If no drops or breaks allowed, than you cannot determine any floor.
-    if (drops == 0 || breaks == 0) {
-      return 0;
-    }
-    
-    if (breaks == 1) {
-      /*
-       * Do not even use cache, this can handle any number even beyond the cache length. Also, drops
-       * is always less than the Max F value.
-       */
-      return drops;
-    }
-    
-    /*
-     * If data is beyond cache, answer at this point must be greater than the max F value.
-     */
-    if (drops > MAX_D_VALUE && breaks > 1) {
-      return LARGER_THAN_MAX_F_VALUE;
-    }
-    
-    /*
-     * If the breaks is greater than the max value, then use the max break value instead. Anything
-     * beyond this value is out of range for F value or a copy of the max value, as any situation
-     * where B > D, F(D,B) = F(D, MaxB)
-     */
-    if (breaks > MAX_B_VALUE) {
-      breaks = MAX_B_VALUE;
-    }
-    
-    // Use the cache to find the max F value.
-    return fMaxCache[drops][breaks];
+    return fMaxStrategy.fMax(drops, breaks);
+  }
+  
+  /**
+   * Creates an optimal plan for finding the highest safe floor of a building, which decides each
+   * drop lazily from the outcomes so far.
+   * 
+   * @param floors The number of floors in the building.
+   * @param drops The number of drops allowed.
+   * @param breaks The number of breaks allowed.
+   * @return A new {@code DropPlan}.
+   * @throws IllegalArgumentException If any argument is negative, or <i>Solvable(floors, drops,
+   *           breaks)</i> is not true.
+   */
+  public DropPlan planDrops(long floors, int drops, int breaks) {
+    return new DropPlan(fMaxStrategy, floors, drops, breaks);
+  }
+  
+  /**
+   * Solves for the exact F<sub>max</sub> value, however large it is, given a number of drops and a
+   * number of breaks. This is only practical when either the drops or the breaks are small.
+   * 
+   * @param drops The number of drops allowed.
+   * @param breaks The number of breaks allowed.
+   * @return The highest floor that is solvable given drops and breaks.
+   * @see BinomialFMaxStrategy#exactFMax(int, int)
+   */
+  public BigInteger solveForFExact(int drops, int breaks) {
+    return BinomialFMaxStrategy.exactFMax(drops, breaks);
   }
   
   /**
@@ -352,17 +467,9 @@ public class EggDropCodeJamSolver extends GoogleCodeJamSolver {
    *         given the F and B values.
    */
   public int solveForD(int floors, int maxDrops, int breaks) {
-    // Check each drop value in order. Once one is found, all after will be
-    // a greater d value, so report that number as solvable.
-    for (int drops = 0; drops < maxDrops; drops++) {
-      long maxF = solveForF(drops, breaks);
-      if (maxF == LARGER_THAN_MAX_F_VALUE || maxF >= floors) {
-        return drops;
-      }
-    }
-    // Because this is solvable, just return maxDrops rather than
-    // performing another solveForF.
-    return maxDrops;
+    // maxDrops itself is never checked: because this is solvable, it is the
+    // answer if nothing below it is.
+    return Math.min(fMaxStrategy.minDrops(floors, breaks), maxDrops);
   }
   
   /**
@@ -377,18 +484,34 @@ public class EggDropCodeJamSolver extends GoogleCodeJamSolver {
    *         given the F and D values.
    */
   public int solveForB(int floors, int drops, int maxBreaks) {
-    // Check each break value in order. Once one is found, all after will be
-    // a greater b value, so report that number as solvable.
-    for (int breaks = 0; breaks < maxBreaks; breaks++) {
-      long maxF = solveForF(drops, breaks);
-      if (maxF == LARGER_THAN_MAX_F_VALUE || maxF >= floors) {
-        return breaks;
+    // F(D, B) never decreases as B grows, so binary search for the first
+    // break value that is solvable. maxBreaks itself is never checked:
+    // because this is solvable, it is the answer if nothing below it is.
+    int low = 0;
+    int high = maxBreaks;
+    while (low < high) {
+      int breaks = (low + high) >>> 1;
+      if (isSolvable(floors, drops, breaks)) {
+        high = breaks;
+      } else {
+        low = breaks + 1;
       }
     }
-    
-    // Because this is solvable, just return maxBreaks rather than
-    // performing another solveForF.
-    return maxBreaks;
+    return Math.min(low, maxBreaks);
+  }
+  
+  /**
+   * Determines whether <i>Solvable(floors, drops, breaks)</i> is true.
+   * 
+   * @param floors The number of floors in the building.
+   * @param drops The number of drops allowed.
+   * @param breaks The number of breaks allowed.
+   * @return {@code true} if F<sub>max</sub> for the drops and breaks is at least the number of
+   *         floors.
+   */
+  private boolean isSolvable(int floors, int drops, int breaks) {
+    long maxF = solveForF(drops, breaks);
+    return maxF == LARGER_THAN_MAX_F_VALUE || maxF >= floors;
   }
   
   /**
@@ -399,6 +522,8 @@ public class EggDropCodeJamSolver extends GoogleCodeJamSolver {
    * @throws IOException If an I/O error occurs.
    */
   public static void main(String[] args) throws IOException {
+    // Load the cache while the input is being opened and read.
+    CachedFMaxStrategy.prewarm(ForkJoinPool.commonPool());
     new EggDropCodeJamSolver().go(args);
   }
 }
\ No newline at end of file
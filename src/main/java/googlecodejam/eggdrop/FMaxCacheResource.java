@@ -0,0 +1,161 @@
+package googlecodejam.eggdrop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Reads and writes the F<sub>max</sub> cache of the {@code CachedFMaxStrategy} as a binary
+ * resource, so that the cache can be loaded with one bulk read instead of being computed. The
+ * resource is generated at build time by {@link #main(String[])}, which is run by the
+ * {@code generate-eggdrop-cache} Maven profile.
+ * <p>
+ * The resource is big-endian. It holds a header of the magic number {@value #MAGIC}, the format
+ * version, the maximum F value, and the first and last B values; then, for each B value, the
+ * length of its column followed by the column; then a CRC-32 of everything before it.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+public final class FMaxCacheResource {
+  
+  /**
+   * The name of the resource, relative to this class.
+   */
+  static final String RESOURCE_NAME = "fmax-cache.bin";
+  /**
+   * The first four bytes of the resource, "EGGD".
+   */
+  static final int MAGIC = 0x45474744;
+  /**
+   * The version of the resource's format. This must change whenever the format, or the meaning of
+   * the cached values, changes.
+   */
+  static final int VERSION = 1;
+  
+  /**
+   * Not instantiable.
+   */
+  private FMaxCacheResource() {}
+  
+  /**
+   * Loads the cache from the resource.
+   * 
+   * @param minB The first B value that the cache must hold.
+   * @param maxB The last B value that the cache must hold.
+   * @param maxF The maximum F value that the cache must have been built with.
+   * @return The cache, indexed by [B][D], with {@code null} columns below {@code minB}.
+   * @throws IOException If the resource is missing, corrupt, or was built for a different format
+   *           or different values.
+   */
+  static long[][] load(int minB, int maxB, long maxF) throws IOException {
+    try (InputStream in = FMaxCacheResource.class.getResourceAsStream(RESOURCE_NAME)) {
+      if (in == null) {
+        throw new IOException("Missing resource " + RESOURCE_NAME);
+      }
+      return read(ByteStreams.toByteArray(in), minB, maxB, maxF);
+    }
+  }
+  
+  /**
+   * Reads a cache from the bytes of a resource.
+   * 
+   * @param bytes The bytes of the resource.
+   * @param minB The first B value that the cache must hold.
+   * @param maxB The last B value that the cache must hold.
+   * @param maxF The maximum F value that the cache must have been built with.
+   * @return The cache, indexed by [B][D], with {@code null} columns below {@code minB}.
+   * @throws IOException If the bytes are corrupt, or were written for a different format or
+   *           different values.
+   */
+  static long[][] read(byte[] bytes, int minB, int maxB, long maxF) throws IOException {
+    if (bytes.length < Integer.BYTES) {
+      throw new IOException("Truncated " + RESOURCE_NAME);
+    }
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length - Integer.BYTES);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if ((int) crc.getValue() != buffer.getInt(bytes.length - Integer.BYTES)) {
+      throw new IOException("Checksum mismatch in " + RESOURCE_NAME);
+    }
+    try {
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != maxF
+          || buffer.getInt() != minB || buffer.getInt() != maxB) {
+        throw new IOException("Stale " + RESOURCE_NAME);
+      }
+      long[][] cache = new long[maxB + 1][];
+      for (int b = minB; b <= maxB; b++) {
+        long[] column = new long[buffer.getInt()];
+        buffer.asLongBuffer().get(column);
+        ((Buffer) buffer).position(buffer.position() + column.length * Long.BYTES);
+        cache[b] = column;
+      }
+      if (buffer.remaining() != Integer.BYTES) {
+        throw new IOException("Trailing data in " + RESOURCE_NAME);
+      }
+      return cache;
+    } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+      throw new IOException("Truncated " + RESOURCE_NAME, e);
+    }
+  }
+  
+  /**
+   * Writes a cache in the format of the resource.
+   * 
+   * @param cache The cache, indexed by [B][D], with {@code null} columns below {@code minB}.
+   * @param minB The first B value that the cache holds.
+   * @param maxF The maximum F value that the cache was built with.
+   * @param out The stream to write to. It is not closed.
+   * @throws IOException If an I/O error occurs.
+   */
+  static void write(long[][] cache, int minB, long maxF, OutputStream out) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream data = new DataOutputStream(bytes);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeLong(maxF);
+    data.writeInt(minB);
+    data.writeInt(cache.length - 1);
+    for (int b = minB; b < cache.length; b++) {
+      data.writeInt(cache[b].length);
+      for (long value : cache[b]) {
+        data.writeLong(value);
+      }
+    }
+    CRC32 crc = new CRC32();
+    crc.update(bytes.toByteArray());
+    data.writeInt((int) crc.getValue());
+    data.flush();
+    bytes.writeTo(out);
+  }
+  
+  /**
+   * Generates the resource by computing the cache.
+   * 
+   * @param args The file to write the resource to.
+   * @throws IOException If an I/O error occurs.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: FMaxCacheResource <output file>");
+      System.exit(2);
+    }
+    Path file = Paths.get(args[0]);
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    try (OutputStream out = Files.newOutputStream(file)) {
+      write(CachedFMaxStrategy.initializeCache(), CachedFMaxStrategy.MIN_B_VALUE,
+        EggDropCodeJamSolver.MAX_F_VALUE, out);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package googlecodejam.eggdrop;
+
+/**
+ * Represents a strategy for finding F<sub>max</sub>, the largest number of floors for which
+ * <i>Solvable(F, D, B)</i> is true given D drops and B breaks. Every strategy must return the same
+ * values; they differ only in how much time and memory they trade for each other.
+ * 
+ * @author Scotty Boutin
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface FMaxStrategy {
+  
+  /**
+   * Finds the F<sub>max</sub> value, given a number of drops and a number of breaks.
+   * 
+   * @param drops The number of drops allowed, at least 0.
+   * @param breaks The number of breaks allowed, at least 0.
+   * @return The highest floor that is solvable given drops and breaks, or
+   *         {@value EggDropCodeJamSolver#LARGER_THAN_MAX_F_VALUE} if the highest floor is larger
+   *         than the maximum F value of the strategy, which is
+   *         {@value EggDropCodeJamSolver#MAX_F_VALUE} by default.
+   */
+  long fMax(int drops, int breaks);
+  
+  /**
+   * Finds the smallest number of drops for which <i>Solvable(floors, D, breaks)</i> is true. By
+   * default, this binary searches the drops with {@link #fMax(int, int)}, which never decreases as
+   * the drops grow.
+   * 
+   * @param floors The number of floors in the building.
+   * @param breaks The number of breaks allowed, at least 0.
+   * @return The minimum number of drops, or {@link Integer#MAX_VALUE} if no smaller number of drops
+   *         is enough.
+   */
+  default int minDrops(int floors, int breaks) {
+    int low = 0;
+    int high = Integer.MAX_VALUE;
+    while (low < high) {
+      int drops = (low + high) >>> 1;
+      long maxF = fMax(drops, breaks);
+      if (maxF == EggDropCodeJamSolver.LARGER_THAN_MAX_F_VALUE || maxF >= floors) {
+        high = drops;
+      } else {
+        low = drops + 1;
+      }
+    }
+    return low;
+  }
+}
@@ -103,6 +103,15 @@ import googlecodejam.GoogleCodeJamSolver;
  */
 public class ShoppingPlanCodeJamSolver extends GoogleCodeJamSolver {
   
+  /**
+   * A test case is its first line, the line of items, and one line for each store.
+   */
+  @Override
+  protected int linesInTestCase(String firstLine) {
+    int numStores = Integer.parseInt(firstLine.trim().split("\\s+")[1]);
+    return 2 + numStores;
+  }
+  
   /**
    * Solves a single test case of the Shopping Plan Google Code Jam.
    */
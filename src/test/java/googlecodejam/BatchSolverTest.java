@@ -0,0 +1,141 @@
+package googlecodejam;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BatchSolverTest {
+  
+  private static final String EGG_DROP_SOLVER = "googlecodejam.eggdrop.EggDropCodeJamSolver";
+  
+  private static boolean notASolverInitialized;
+  
+  private static GoogleCodeJamSolver solver;
+  private static ExecutorService executor;
+  
+  @TempDir
+  Path directory;
+  
+  @BeforeAll
+  static void createSolver() {
+    solver = BatchSolver.newSolver(EGG_DROP_SOLVER);
+    executor = Executors.newFixedThreadPool(3);
+  }
+  
+  @AfterAll
+  static void stopExecutor() {
+    executor.shutdown();
+  }
+  
+  private Path write(Path file, String contents) throws IOException {
+    Files.createDirectories(file.getParent());
+    return Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+  }
+  
+  private static String solveInMemory(Path input) throws IOException {
+    MemoryOutputSink out = new MemoryOutputSink();
+    solver.go(SolverOptions.builder().mappedFile(input).output(out).build());
+    return out.getContents();
+  }
+  
+  @Test
+  void test_OutputFileFor_ReplacesInputExtension() {
+    assertAll(
+      () -> assertEquals(Paths.get("inputs", "A-small.out"),
+        BatchSolver.outputFileFor(Paths.get("inputs", "A-small.in"))),
+      () -> assertEquals(Paths.get("inputs", "A-small.txt.out"),
+        BatchSolver.outputFileFor(Paths.get("inputs", "A-small.txt")))
+    );
+  }
+  
+  @Test
+  void test_FindInputs_Directory_ListsInputFilesOnly() throws IOException {
+    Path b = write(directory.resolve("b.in"), "0\n");
+    Path a = write(directory.resolve("a.in"), "0\n");
+    write(directory.resolve("notes.txt"), "");
+    write(directory.resolve("nested").resolve("c.in"), "0\n");
+    assertEquals(Arrays.asList(a, b), BatchSolver.findInputs(directory.toString()));
+  }
+  
+  @Test
+  void test_FindInputs_Glob_MatchesNestedFiles() throws IOException {
+    Path a = write(directory.resolve("C-small.in"), "0\n");
+    Path b = write(directory.resolve("nested").resolve("C-large.in"), "0\n");
+    write(directory.resolve("A-small.in"), "0\n");
+    List<Path> expected = Arrays.asList(a, b);
+    Collections.sort(expected);
+    assertEquals(expected, BatchSolver.findInputs(directory.toString() + "/**C-*.in"));
+  }
+  
+  @Test
+  void test_Solve_WritesEachFileToItsOwnOutput() throws IOException {
+    Path first = write(directory.resolve("first.in"), "2\n3 3 3\n7 5 3\n");
+    Path second = write(directory.resolve("second.in"), "1\n100 1 1\n");
+    List<Path> outputs = new BatchSolver(solver, executor).solve(Arrays.asList(first, second));
+    assertAll(
+      () -> assertEquals(Arrays.asList(directory.resolve("first.out"),
+        directory.resolve("second.out")), outputs),
+      () -> assertEquals(solveInMemory(first),
+        new String(Files.readAllBytes(outputs.get(0)), StandardCharsets.UTF_8)),
+      () -> assertEquals(solveInMemory(second),
+        new String(Files.readAllBytes(outputs.get(1)), StandardCharsets.UTF_8))
+    );
+  }
+  
+  @Test
+  void test_Solve_WithFailingFile_SolvesOthersThenThrows() throws IOException {
+    Path good = write(directory.resolve("good.in"), "1\n3 3 3\n");
+    Path bad = write(directory.resolve("bad.in"), "2\n3 3 3\n");
+    IOException failure = assertThrows(IOException.class,
+      () -> new BatchSolver(solver, executor).solve(Arrays.asList(bad, good)));
+    assertAll(
+      () -> assertEquals(1, failure.getSuppressed().length),
+      () -> assertTrue(failure.getSuppressed()[0].getMessage().contains("bad.in")),
+      () -> assertEquals(solveInMemory(good), new String(Files.readAllBytes(
+        directory.resolve("good.out")), StandardCharsets.UTF_8))
+    );
+  }
+  
+  @Test
+  void test_NewSolver_WithoutNoArgumentConstructor_ThrowsIllegalArgumentException() {
+    assertAll(
+      () -> assertThrows(IllegalArgumentException.class,
+        () -> BatchSolver.newSolver("java.lang.String")),
+      () -> assertThrows(IllegalArgumentException.class,
+        () -> BatchSolver.newSolver("googlecodejam.NoSuchSolver"))
+    );
+  }
+  
+  @Test
+  void test_NewSolver_NotASolver_IsNotInitialized() {
+    assertAll(
+      () -> assertThrows(IllegalArgumentException.class,
+        () -> BatchSolver.newSolver(NotASolver.class.getName())),
+      () -> assertFalse(notASolverInitialized)
+    );
+  }
+  
+  static class NotASolver {
+    static {
+      notASolverInitialized = true;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package googlecodejam;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CodeJamTokenizerTest {
+  
+  private static CodeJamTokenizer tokenizerWithBufferSize(String input, int bufferSize) {
+    return new CodeJamTokenizer(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)),
+                                bufferSize);
+  }
+  
+  @Test
+  void test_ReadsNumbersAndTokens() throws IOException {
+    CodeJamTokenizer in = new CodeJamTokenizer("3 -7 +2\tCODE\n9223372036854775807 -9223372036854775808");
+    assertEquals(3, in.nextInt());
+    assertEquals(-7, in.nextInt());
+    assertEquals(2, in.nextLong());
+    assertEquals("CODE", in.nextToken());
+    assertEquals(Long.MAX_VALUE, in.nextLong());
+    assertEquals(Long.MIN_VALUE, in.nextLong());
+    assertFalse(in.hasNextToken());
+  }
+  
+  @Test
+  void test_TokensSpanningBufferBoundaries_AreReadWhole() throws IOException {
+    CodeJamTokenizer in = tokenizerWithBufferSize("1234567 O!CDE? 42\nlast line", 3);
+    assertAll(
+      () -> assertEquals(1234567, in.nextInt()),
+      () -> assertEquals("O!CDE?", in.nextToken()),
+      () -> assertEquals(42, in.nextInt()),
+      () -> assertEquals("", in.nextLine()),
+      () -> assertEquals("last line", in.nextLine())
+    );
+  }
+  
+  @Test
+  void test_NextLine_AfterToken_ReturnsRestOfLine_LikeScanner() throws IOException {
+    CodeJamTokenizer in = new CodeJamTokenizer("2\r\nWW WW\r\n");
+    assertEquals(2, in.nextInt());
+    assertEquals("", in.nextLine());
+    assertEquals("WW WW", in.nextLine());
+    assertThrows(NoSuchElementException.class, in::nextLine);
+  }
+  
+  @Test
+  void test_NextLine_WithCharset_DecodesAndCountsBytes() throws IOException {
+    byte[] input = "caf\u00e9\r\nnext".getBytes(StandardCharsets.UTF_8);
+    CodeJamTokenizer in = new CodeJamTokenizer(new ByteArrayInputStream(input));
+    assertEquals("caf\u00e9", in.nextLine(StandardCharsets.UTF_8));
+    assertEquals(input.length - "next".length(), in.position());
+  }
+  
+  @Test
+  void test_NonNumericToken_ThrowsInputMismatchException() {
+    assertAll(
+      () -> assertThrows(InputMismatchException.class, () -> new CodeJamTokenizer("12ab").nextInt()),
+      () -> assertThrows(InputMismatchException.class, () -> new CodeJamTokenizer("-").nextLong()),
+      () -> assertThrows(InputMismatchException.class, () -> new CodeJamTokenizer("2147483648").nextInt()),
+      () -> assertThrows(InputMismatchException.class,
+        () -> new CodeJamTokenizer("9223372036854775808").nextLong())
+    );
+  }
+  
+  @Test
+  void test_EmptyInput_ThrowsNoSuchElementException() throws IOException {
+    CodeJamTokenizer in = new CodeJamTokenizer("  \n ");
+    assertFalse(in.hasNextToken());
+    assertThrows(NoSuchElementException.class, in::nextToken);
+  }
+  
+  @Test
+  void test_HasNextToken_SkipsDelimiters() throws IOException {
+    CodeJamTokenizer in = tokenizerWithBufferSize("\n\n  x", 2);
+    assertTrue(in.hasNextToken());
+    assertEquals("x", in.nextToken());
+  }
+  
+  @Test
+  void test_MappedFile_ReadsAcrossWindows(@TempDir Path directory) throws IOException {
+    Path file = directory.resolve("input.in");
+    Files.write(file, "2\n123456789 12 O!CDE?\nWW WW\n".getBytes(StandardCharsets.US_ASCII));
+    try (CodeJamTokenizer in = CodeJamTokenizer.ofMappedFile(file, 4)) {
+      assertEquals("2", in.nextLine());
+      assertEquals(123456789, in.nextInt());
+      assertEquals(12L, in.nextLong());
+      assertEquals("O!CDE?", in.nextToken());
+      assertEquals("", in.nextLine());
+      assertEquals("WW WW", in.nextLine());
+      assertFalse(in.hasNextToken());
+    }
+  }
+  
+  @Test
+  void test_Position_CountsConsumedBytesAcrossBuffers() throws IOException {
+    CodeJamTokenizer in = tokenizerWithBufferSize("12 345\nabc\n", 4);
+    assertEquals(0, in.position());
+    in.nextInt();
+    assertEquals(2, in.position());
+    in.nextInt();
+    assertEquals(6, in.position());
+    in.nextLine();
+    assertEquals(7, in.position());
+    in.nextLine();
+    assertEquals(11, in.position());
+    assertFalse(in.hasNextToken());
+    assertEquals(11, in.position());
+  }
+}
@@ -0,0 +1,463 @@
+package googlecodejam;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GoogleCodeJamSolverTest {
+  
+  private static final int NUM_CASES = 200;
+  private static final String NEW_LINE = System.lineSeparator();
+  
+  private static ExecutorService executor;
+  
+  @TempDir
+  Path directory;
+  
+  /**
+   * Squares each number, sleeping a little so that parallel cases finish out of order.
+   */
+  private static class SquaringSolver extends GoogleCodeJamSolver {
+    
+    @Override
+    protected String solve(Scanner in) {
+      long value = in.nextLong();
+      pause();
+      return Long.toString(value * value);
+    }
+  }
+  
+  private static class TokenizingSquaringSolver extends SquaringSolver {
+    
+    @Override
+    protected boolean usesTokenizer() {
+      return true;
+    }
+    
+    @Override
+    protected String solve(CodeJamTokenizer in) throws IOException {
+      long value = in.nextLong();
+      pause();
+      return Long.toString(value * value);
+    }
+  }
+  
+  /**
+   * Squares every number at once, formatting the results as bytes.
+   */
+  private static class BulkSquaringSolver extends TokenizingSquaringSolver {
+    
+    @Override
+    protected boolean solvesInBulk() {
+      return true;
+    }
+    
+    @Override
+    protected void solveAll(CodeJamTokenizer in, int numTestCases, OutputSink out)
+        throws IOException {
+      for (int testNum = 1; testNum <= numTestCases; testNum++) {
+        long value = in.nextLong();
+        byte[] line = (caseNumber(testNum) + value * value + NEW_LINE).getBytes(
+          StandardCharsets.US_ASCII);
+        out.appendAscii(line, 0, line.length);
+      }
+    }
+  }
+  
+  /**
+   * Only sets the flags, leaving the tokenizer and bulk methods to their defaults.
+   */
+  private static class FlaggedSquaringSolver extends SquaringSolver {
+    
+    private final boolean usesTokenizer;
+    
+    FlaggedSquaringSolver(boolean usesTokenizer) {
+      this.usesTokenizer = usesTokenizer;
+    }
+    
+    @Override
+    protected boolean usesTokenizer() {
+      return usesTokenizer;
+    }
+    
+    @Override
+    protected boolean solvesInBulk() {
+      return true;
+    }
+  }
+  
+  private static class FailingSolver extends SquaringSolver {
+    
+    @Override
+    protected String solve(Scanner in) {
+      String result = super.solve(in);
+      if (result.equals("2500")) {
+        throw new IllegalStateException("Case 50 failed");
+      }
+      return result;
+    }
+  }
+  
+  /**
+   * Each test case is a count followed by that many lines, each holding one number to sum.
+   */
+  private static class MultiLineSummingSolver extends GoogleCodeJamSolver {
+    
+    @Override
+    protected int linesInTestCase(String firstLine) {
+      return 1 + Integer.parseInt(firstLine.trim());
+    }
+    
+    @Override
+    protected String solve(Scanner in) {
+      int count = in.nextInt();
+      long sum = 0;
+      for (int i = 0; i < count; i++) {
+        sum += in.nextLong();
+      }
+      pause();
+      return Long.toString(sum);
+    }
+  }
+  
+  private static void pause() {
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+  
+  @BeforeAll
+  static void startExecutor() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+  
+  @AfterAll
+  static void stopExecutor() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+  
+  private Path writeInput(String contents) throws IOException {
+    Path input = directory.resolve("input.in");
+    Files.write(input, contents.getBytes(StandardCharsets.US_ASCII));
+    return input;
+  }
+  
+  private Path writeSquaringInput() throws IOException {
+    StringBuilder input = new StringBuilder().append(NUM_CASES).append('\n');
+    for (int i = 1; i <= NUM_CASES; i++) {
+      input.append(i).append('\n');
+    }
+    return writeInput(input.toString());
+  }
+  
+  private static String expectedSquares() {
+    StringBuilder expected = new StringBuilder();
+    for (long i = 1; i <= NUM_CASES; i++) {
+      expected.append("Case #").append(i).append(": ").append(i * i).append(NEW_LINE);
+    }
+    return expected.toString();
+  }
+  
+  private static String run(GoogleCodeJamSolver solver, SolverOptions.Builder options)
+      throws IOException {
+    MemoryOutputSink out = new MemoryOutputSink();
+    solver.go(options.output(out).build());
+    return out.getContents();
+  }
+  
+  @Test
+  void test_Sequential_WritesCasesInOrder() throws IOException {
+    Path input = writeSquaringInput();
+    assertEquals(expectedSquares(),
+      run(new SquaringSolver(), SolverOptions.builder().mappedFile(input)));
+  }
+  
+  @Test
+  void test_Parallel_WritesCasesInOrder() throws IOException {
+    Path input = writeSquaringInput();
+    assertEquals(expectedSquares(), run(new SquaringSolver(),
+      SolverOptions.builder().mappedFile(input).parallel(executor).maxPendingCases(7)));
+  }
+  
+  @Test
+  void test_ParallelWithTokenizer_WritesCasesInOrder() throws IOException {
+    Path input = writeSquaringInput();
+    assertEquals(expectedSquares(), run(new TokenizingSquaringSolver(),
+      SolverOptions.builder().mappedFile(input).parallel(executor)));
+  }
+  
+  @Test
+  void test_ParallelWithMultiLineCases_MatchesSequential() throws IOException {
+    Path input = writeInput("3\n2\n1\n2\n1\n5\n3\n1\n1\n1\n");
+    String sequential = run(new MultiLineSummingSolver(), SolverOptions.builder().mappedFile(input));
+    String parallel = run(new MultiLineSummingSolver(),
+      SolverOptions.builder().mappedFile(input).parallel(executor));
+    assertEquals("Case #1: 3" + NEW_LINE + "Case #2: 5" + NEW_LINE + "Case #3: 3" + NEW_LINE,
+      sequential);
+    assertEquals(sequential, parallel);
+  }
+  
+  @Test
+  void test_AsynchronousFileOutput_WritesEveryCase() throws IOException {
+    Path input = writeSquaringInput();
+    Path output = directory.resolve("solution.txt");
+    new SquaringSolver().go(SolverOptions.builder()
+                                         .mappedFile(input)
+                                         .output(OutputTarget.FILE)
+                                         .outputFile(output)
+                                         .outputBufferSize(64)
+                                         .outputQueueCapacity(1)
+                                         .build());
+    assertEquals(expectedSquares(), new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+  }
+  
+  @Test
+  void test_Bulk_WritesCasesInOrder() throws IOException {
+    Path input = writeSquaringInput();
+    Path output = directory.resolve("solution.txt");
+    new BulkSquaringSolver().go(SolverOptions.builder()
+                                             .mappedFile(input)
+                                             .output(OutputTarget.FILE)
+                                             .outputFile(output)
+                                             .outputBufferSize(64)
+                                             .outputQueueCapacity(1)
+                                             .build());
+    assertAll(
+      () -> assertEquals(expectedSquares(), new String(Files.readAllBytes(output),
+        StandardCharsets.UTF_8)),
+      () -> assertEquals(expectedSquares(), run(new BulkSquaringSolver(),
+        SolverOptions.builder().mappedFile(input))),
+      () -> assertEquals(expectedSquares(), run(new BulkSquaringSolver(),
+        SolverOptions.builder().mappedFile(input).parallel(executor)))
+    );
+  }
+  
+  @Test
+  void test_FlagsWithoutOverrides_SolveWithDefaults() throws IOException {
+    Path input = writeSquaringInput();
+    assertAll(
+      () -> assertEquals(expectedSquares(), run(new FlaggedSquaringSolver(true),
+        SolverOptions.builder().mappedFile(input))),
+      () -> assertEquals(expectedSquares(), run(new FlaggedSquaringSolver(true),
+        SolverOptions.builder().mappedFile(input).parallel(executor))),
+      () -> assertEquals(expectedSquares(), run(new FlaggedSquaringSolver(false),
+        SolverOptions.builder().mappedFile(input)))
+    );
+  }
+  
+  @Test
+  void test_ConsoleOutput_WritesToReplacedSystemOut() throws IOException {
+    Path input = writeSquaringInput();
+    PrintStream systemOut = System.out;
+    ByteArrayOutputStream console = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(console, false));
+    try {
+      new SquaringSolver().go(SolverOptions.builder()
+                                           .mappedFile(input)
+                                           .output(OutputTarget.CONSOLE)
+                                           .build());
+    } finally {
+      System.setOut(systemOut);
+    }
+    assertEquals(expectedSquares(), new String(console.toByteArray(), StandardCharsets.UTF_8));
+  }
+  
+  @Test
+  void test_AsynchronousSink_PreservesEverythingAppended() throws IOException {
+    MemoryOutputSink memory = new MemoryOutputSink();
+    StringBuilder expected = new StringBuilder();
+    try (OutputSink out = OutputSink.asynchronous(memory, 2)) {
+      for (int i = 0; i < 20_000; i++) {
+        out.append("line ").append(Integer.toString(i)).append('!').newLine();
+        expected.append("line ").append(i).append('!').append(NEW_LINE);
+      }
+    }
+    assertEquals(expected.toString(), memory.getContents());
+  }
+  
+  @Test
+  void test_ParallelWithStatistics_CountsEveryStage() throws IOException {
+    Path input = writeSquaringInput();
+    PipelineStatistics statistics = new PipelineStatistics();
+    run(new SquaringSolver(), SolverOptions.builder()
+                                           .mappedFile(input)
+                                           .parallel(executor)
+                                           .solveWorkers(3)
+                                           .solveQueueCapacity(5)
+                                           .maxPendingCases(6)
+                                           .statistics(statistics));
+    assertAll(
+      () -> assertEquals(NUM_CASES, statistics.getCasesParsed()),
+      () -> assertEquals(NUM_CASES, statistics.getCasesSolved()),
+      () -> assertEquals(NUM_CASES, statistics.getCasesEmitted()),
+      () -> assertEquals(3, statistics.getSolveWorkers()),
+      () -> assertEquals(5, statistics.getSolveQueueCapacity()),
+      () -> assertEquals(6, statistics.getReorderWindowCapacity()),
+      () -> assertEquals(0, statistics.getReorderWindowDepth()),
+      () -> assertTrue(statistics.getSolveUtilization() > 0),
+      () -> assertTrue(statistics.getSolveUtilization() <= 1),
+      () -> assertTrue(statistics.getParseUtilization() <= 1)
+    );
+  }
+  
+  @Test
+  void test_ParallelWithFailingCase_WritesEarlierCasesThenThrows() throws IOException {
+    Path input = writeSquaringInput();
+    MemoryOutputSink out = new MemoryOutputSink();
+    SolverOptions options = SolverOptions.builder()
+                                         .mappedFile(input)
+                                         .parallel(executor)
+                                         .maxPendingCases(4)
+                                         .output(out)
+                                         .build();
+    assertThrows(IllegalStateException.class, () -> new FailingSolver().go(options));
+    assertTrue(expectedSquares().startsWith(out.getContents()));
+    assertTrue(out.getContents().endsWith("Case #49: 2401" + NEW_LINE));
+  }
+  
+  @Test
+  void test_ParallelWithRejectingExecutor_ThrowsRejectedExecutionException() throws IOException {
+    Path input = writeSquaringInput();
+    ExecutorService shutDown = Executors.newSingleThreadExecutor();
+    shutDown.shutdown();
+    Executor[] executors = { task -> {
+      throw new RejectedExecutionException("Saturated");
+    }, shutDown, Runnable::run };
+    assertAll(Arrays.stream(executors).map(rejecting -> () -> assertTimeoutPreemptively(
+      Duration.ofSeconds(10), () -> assertThrows(RejectedExecutionException.class,
+        () -> run(new SquaringSolver(), SolverOptions.builder()
+                                                     .mappedFile(input)
+                                                     .parallel(rejecting)
+                                                     .solveWorkers(2)
+                                                     .maxPendingCases(4))))));
+  }
+  
+  @Test
+  void test_ParallelWithTruncatedInput_WritesEarlierCasesThenThrows() throws IOException {
+    Path input = writeInput("5\n1\n2\n3\n");
+    MemoryOutputSink out = new MemoryOutputSink();
+    SolverOptions options = SolverOptions.builder()
+                                         .mappedFile(input)
+                                         .parallel(executor)
+                                         .output(out)
+                                         .build();
+    assertThrows(NoSuchElementException.class, () -> new SquaringSolver().go(options));
+    assertEquals("Case #1: 1" + NEW_LINE + "Case #2: 4" + NEW_LINE + "Case #3: 9" + NEW_LINE,
+      out.getContents());
+  }
+  
+  @Test
+  void test_InstrumentedWithTokenizer_RecordsEveryCase() throws IOException {
+    Path input = writeSquaringInput();
+    CaseStatistics caseStatistics = new CaseStatistics();
+    String output = run(new TokenizingSquaringSolver(),
+      SolverOptions.builder().mappedFile(input).caseStatistics(caseStatistics));
+    long inputBytes = IntStream.rangeClosed(1, NUM_CASES)
+                               .mapToLong(caseStatistics::getInputBytes)
+                               .sum();
+    long outputBytes = IntStream.rangeClosed(1, NUM_CASES)
+                                .mapToLong(caseStatistics::getOutputBytes)
+                                .sum();
+    // Everything after the first line, except the new line after the last token.
+    long expectedInputBytes = Files.size(input) - (NUM_CASES + "\n").length() - 1;
+    long expectedOutputBytes = output.length();
+    int[] slowest = caseStatistics.getSlowestCases(5);
+    assertAll(
+      () -> assertEquals(NUM_CASES, caseStatistics.getCases()),
+      () -> assertEquals(expectedInputBytes, inputBytes),
+      () -> assertEquals(expectedOutputBytes, outputBytes),
+      () -> assertEquals(("Case #1: 1" + NEW_LINE).length(), caseStatistics.getOutputBytes(1)),
+      () -> assertEquals(5, slowest.length),
+      () -> assertEquals(caseStatistics.getLatencyPercentile(100),
+        caseStatistics.getLatencyNanos(slowest[0])),
+      () -> assertTrue(caseStatistics.getLatencyPercentile(50)
+                       <= caseStatistics.getLatencyPercentile(99)),
+      () -> assertTrue(caseStatistics.getCasesPerSecond() > 0),
+      () -> assertTrue(caseStatistics.report().contains("Slowest cases: #" + slowest[0]))
+    );
+  }
+  
+  @Test
+  void test_InstrumentedWithScanner_InputBytesAreUnknown() throws IOException {
+    Path input = writeSquaringInput();
+    CaseStatistics caseStatistics = new CaseStatistics();
+    String output = run(new SquaringSolver(),
+      SolverOptions.builder().mappedFile(input).caseStatistics(caseStatistics));
+    assertAll(
+      () -> assertEquals(expectedSquares(), output),
+      () -> assertTrue(IntStream.rangeClosed(1, NUM_CASES)
+                                .allMatch(testNum -> caseStatistics.getInputBytes(testNum) == -1)),
+      () -> assertTrue(caseStatistics.report().contains("Input unknown"))
+    );
+  }
+  
+  @Test
+  void test_InstrumentedInParallel_RecordsEveryCase() throws IOException {
+    Path input = writeSquaringInput();
+    CaseStatistics caseStatistics = new CaseStatistics();
+    String output = run(new SquaringSolver(), SolverOptions.builder()
+                                                           .mappedFile(input)
+                                                           .parallel(executor)
+                                                           .caseStatistics(caseStatistics));
+    assertAll(
+      () -> assertEquals(expectedSquares(), output),
+      () -> assertEquals(NUM_CASES, caseStatistics.getCases()),
+      () -> assertEquals("200\n".length(), caseStatistics.getInputBytes(NUM_CASES)),
+      () -> assertEquals(("Case #200: 40000" + NEW_LINE).length(),
+        caseStatistics.getOutputBytes(NUM_CASES)),
+      () -> assertTrue(caseStatistics.getLatencyNanos(NUM_CASES) > 0)
+    );
+  }
+  
+  @Test
+  void test_InstrumentedInParallel_RecordsInputBytes() throws IOException {
+    Path input = writeInput("3\r\n1\r\n22\r\n333");
+    CaseStatistics caseStatistics = new CaseStatistics();
+    run(new SquaringSolver(), SolverOptions.builder()
+                                           .mappedFile(input)
+                                           .parallel(executor)
+                                           .caseStatistics(caseStatistics));
+    assertAll(
+      () -> assertEquals("1\r\n".length(), caseStatistics.getInputBytes(1)),
+      () -> assertEquals("22\r\n".length(), caseStatistics.getInputBytes(2)),
+      () -> assertEquals("333".length(), caseStatistics.getInputBytes(3))
+    );
+  }
+  
+  @Test
+  void test_FromArguments_InstrumentArgument_IsRemoved() {
+    SolverOptions options = SolverOptions.fromArguments(SolverOptions.INSTRUMENT_ARGUMENT, "x.in");
+    assertAll(
+      () -> assertEquals("x.in", options.getResourceName()),
+      () -> assertTrue(options.getCaseStatistics() != null)
+    );
+  }
+}
@@ -0,0 +1,112 @@
+package googlecodejam;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SolverDaemonTest {
+  
+  private static final String EGG_DROP_SOLVER = "googlecodejam.eggdrop.EggDropCodeJamSolver";
+  private static final String EGG_DROP_INPUT = "3\n3 3 3\n7 5 3\n100 1 1\n";
+  
+  private SolverDaemon daemon;
+  
+  @BeforeEach
+  void startDaemon() throws IOException {
+    daemon = new SolverDaemon(0);
+    Thread server = new Thread(() -> {
+      try {
+        daemon.serve();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    server.setDaemon(true);
+    server.start();
+  }
+  
+  @AfterEach
+  void stopDaemon() throws IOException {
+    daemon.close();
+  }
+  
+  private String solveOnDaemon(String solverClass, String input) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SolverClient.solve(daemon.getPort(), solverClass, new ByteArrayInputStream(input.getBytes(
+      StandardCharsets.US_ASCII)), out);
+    return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+  }
+  
+  private static String solveInMemory(String input) throws IOException {
+    MemoryOutputSink out = new MemoryOutputSink();
+    BatchSolver.newSolver(EGG_DROP_SOLVER).go(SolverOptions.builder()
+                                                           .input(new ByteArrayInputStream(
+                                                             input.getBytes(
+                                                               StandardCharsets.US_ASCII)))
+                                                           .output(out)
+                                                           .build());
+    return out.getContents();
+  }
+  
+  @Test
+  void test_Solve_MatchesInMemoryRun() throws IOException {
+    String expected = solveInMemory(EGG_DROP_INPUT);
+    assertAll(
+      () -> assertEquals(expected, solveOnDaemon(EGG_DROP_SOLVER, EGG_DROP_INPUT)),
+      () -> assertEquals(expected, solveOnDaemon(EGG_DROP_SOLVER, EGG_DROP_INPUT))
+    );
+  }
+  
+  @Test
+  void test_SolverFor_ReusesWarmInstance() throws IOException {
+    GoogleCodeJamSolver solver = daemon.solverFor(EGG_DROP_SOLVER);
+    solveOnDaemon(EGG_DROP_SOLVER, EGG_DROP_INPUT);
+    assertSame(solver, daemon.solverFor(EGG_DROP_SOLVER));
+  }
+  
+  @Test
+  void test_Solve_UnknownSolver_ThrowsIOException() {
+    IOException failure = assertThrows(IOException.class,
+      () -> solveOnDaemon("googlecodejam.NoSuchSolver", EGG_DROP_INPUT));
+    assertTrue(failure.getMessage().contains("googlecodejam.NoSuchSolver"));
+  }
+  
+  @Test
+  void test_Solve_TruncatedInput_ThrowsIOExceptionAfterSolvedCases() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertAll(
+      () -> assertThrows(IOException.class, () -> SolverClient.solve(daemon.getPort(),
+        EGG_DROP_SOLVER, new ByteArrayInputStream("2\n3 3 3\n".getBytes(
+          StandardCharsets.US_ASCII)), out)),
+      () -> assertTrue(new String(out.toByteArray(), StandardCharsets.US_ASCII).startsWith(
+        solveInMemory("1\n3 3 3\n")))
+    );
+  }
+  
+  @Test
+  void test_Solve_SolverThrowsError_ThrowsIOException() {
+    IOException failure = assertThrows(IOException.class,
+      () -> solveOnDaemon(OverflowingSolver.class.getName(), EGG_DROP_INPUT));
+    assertTrue(failure.getMessage().contains(StackOverflowError.class.getName()));
+  }
+  
+  public static class OverflowingSolver extends GoogleCodeJamSolver {
+    @Override
+    protected String solve(Scanner in) {
+      throw new StackOverflowError();
+    }
+  }
+}
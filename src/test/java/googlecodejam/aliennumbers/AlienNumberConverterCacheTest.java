@@ -0,0 +1,76 @@
+package googlecodejam.aliennumbers;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import googlecodejam.MemoryOutputSink;
+import googlecodejam.SolverOptions;
+
+class AlienNumberConverterCacheTest {
+  
+  private static final String DECIMAL = "0123456789";
+  private static final String BINARY = "01";
+  
+  @Test
+  void test_Get_SamePair_ReturnsSameConverterAndCountsHit() {
+    AlienNumberConverterCache cache = new AlienNumberConverterCache();
+    AlienNumberConverter first = cache.get(DECIMAL, BINARY);
+    AlienNumberConverter second = cache.get(DECIMAL, BINARY);
+    assertAll(
+      () -> assertSame(first, second),
+      () -> assertNotSame(first, cache.get(BINARY, DECIMAL)),
+      () -> assertEquals(1, cache.stats().hitCount()),
+      () -> assertEquals(2, cache.stats().missCount()),
+      () -> assertEquals("100", second.convert("4"))
+    );
+  }
+  
+  @Test
+  void test_Get_PastMaximumSize_EvictsConverters() {
+    AlienNumberConverterCache cache = new AlienNumberConverterCache(2);
+    cache.get(DECIMAL, BINARY);
+    cache.get(BINARY, DECIMAL);
+    cache.get(DECIMAL, "oF8");
+    assertAll(
+      () -> assertTrue(cache.size() <= 2),
+      () -> assertTrue(cache.stats().evictionCount() >= 1)
+    );
+  }
+  
+  @Test
+  void test_Get_InvalidLanguage_ThrowsAndIsNotCached() {
+    AlienNumberConverterCache cache = new AlienNumberConverterCache();
+    assertAll(
+      () -> assertThrows(InvalidAlienNumeralSystemException.class, () -> cache.get(DECIMAL, "00")),
+      () -> assertThrows(InvalidAlienNumeralSystemException.class, () -> cache.get(DECIMAL, "00")),
+      () -> assertEquals(0, cache.size())
+    );
+  }
+  
+  @Test
+  void test_Solver_RepeatedPairs_BuildsEachConverterOnce() throws IOException {
+    AlienNumberConverterCache cache = new AlienNumberConverterCache();
+    String input = "4\n9 0123456789 oF8\n13 0123456789 oF8\nFoo oF8 0123456789\n7 0123456789 oF8\n";
+    byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+    MemoryOutputSink out = new MemoryOutputSink();
+    new AlienNumberCodeJamSolver(cache).go(SolverOptions.builder()
+                                                        .input(new ByteArrayInputStream(bytes))
+                                                        .output(out)
+                                                        .build());
+    assertAll(
+      () -> assertEquals(2, cache.stats().missCount()),
+      () -> assertEquals(2, cache.stats().hitCount()),
+      () -> assertTrue(out.getContents().startsWith("Case #1: Foo" + System.lineSeparator()))
+    );
+  }
+}
@@ -4,6 +4,14 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 class AlienNumberConverterIntegrationTest {
@@ -11,6 +19,16 @@ class AlienNumberConverterIntegrationTest {
   private static final String BINARY = "01";
   private static final String DECIMAL = "0123456789";
   private static final String HEXADECIMAL = "0123456789abcdef";
+  private static final String BASE_36 = "0123456789abcdefghijklmnopqrstuvwxyz";
+  
+  private static String randomNumber(Random random, String language, int digits) {
+    StringBuilder number = new StringBuilder(digits);
+    number.append(language.charAt(1 + random.nextInt(language.length() - 1)));
+    while (number.length() < digits) {
+      number.append(language.charAt(random.nextInt(language.length())));
+    }
+    return number.toString();
+  }
   
   // Base Case Testing
   @Test
@@ -117,4 +135,238 @@ class AlienNumberConverterIntegrationTest {
     AlienNumberConverter converter = new AlienNumberConverter("O!CDE?", "A?JM!.");
     assertEquals("JAM!", converter.convert("CODE"));
   }
-}
\ No newline at end of file
+  
+  // Numbers too long for a long
+  @Test
+  void test_ConvertingPastLongRange_MatchesBigInteger() {
+    AlienNumberConverter converter = new AlienNumberConverter(DECIMAL, BINARY);
+    String tenToTheForty = "1" + repeat('0', 40);
+    assertAll(
+      () -> assertEquals(Long.toBinaryString(Long.MAX_VALUE),
+        converter.convert(Long.toString(Long.MAX_VALUE))),
+      () -> assertEquals(new BigInteger("9223372036854775808").toString(2),
+        converter.convert("9223372036854775808")),
+      () -> assertEquals(BigInteger.TEN.pow(40).toString(2), converter.convert(tenToTheForty))
+    );
+  }
+  
+  @Test
+  void test_ConvertingLongNumbers_MatchesBigInteger() {
+    Random random = new Random(21);
+    int[] bases = { 2, 3, 7, 10, 16, 36 };
+    int[] lengths = { 1, 12, 13, 39, 40, 64, 65, 100, 1_000, 5_000 };
+    for (int fromBase : bases) {
+      for (int toBase : bases) {
+        if (fromBase == toBase) {
+          continue;
+        }
+        AlienNumberConverter converter = new AlienNumberConverter(BASE_36.substring(0, fromBase),
+          BASE_36.substring(0, toBase));
+        for (int length : lengths) {
+          String number = randomNumber(random, BASE_36.substring(0, fromBase), length);
+          String expected = new BigInteger(number, fromBase).toString(toBase);
+          assertEquals(expected, converter.convert(number), fromBase + " to " + toBase);
+        }
+      }
+    }
+  }
+  
+  @Test
+  void test_ConvertingLongNumbers_RoundTripsBetweenAlienLanguages() {
+    Random random = new Random(21);
+    String from = "O!CDE?";
+    StringBuilder symbols = new StringBuilder();
+    for (char symbol = AlienNumeralSystem.MAX_SYMBOL; symbol >= AlienNumeralSystem.MIN_SYMBOL;
+         symbol--) {
+      symbols.append(symbol);
+    }
+    String to = symbols.toString();
+    AlienNumberConverter there = new AlienNumberConverter(from, to);
+    AlienNumberConverter back = new AlienNumberConverter(to, from);
+    for (int length : new int[] { 30, 1_000, 20_000 }) {
+      String number = randomNumber(random, from, length);
+      assertEquals(number, back.convert(there.convert(number)));
+    }
+  }
+  
+  // Bases that are powers of a common root
+  @Test
+  void test_ConvertingBetweenPowerRelatedBases_MatchesReference() {
+    StringBuilder symbols = new StringBuilder();
+    for (char symbol = AlienNumeralSystem.MIN_SYMBOL; symbol <= AlienNumeralSystem.MAX_SYMBOL;
+         symbol++) {
+      symbols.append(symbol);
+    }
+    String allSymbols = symbols.toString();
+    Random random = new Random(24);
+    int[][] pairs = { { 2, 16 }, { 16, 2 }, { 4, 64 }, { 64, 4 }, { 8, 16 }, { 16, 8 }, { 8, 32 },
+        { 27, 9 }, { 9, 81 }, { 3, 81 }, { 2, 64 }, { 64, 32 }, { 4, 8 } };
+    int[] lengths = { 1, 2, 3, 5, 17, 100, 2_000 };
+    for (int[] pair : pairs) {
+      String from = allSymbols.substring(0, pair[0]);
+      String to = allSymbols.substring(allSymbols.length() - pair[1]);
+      AlienNumberConverter converter = new AlienNumberConverter(from, to);
+      assertEquals(to.substring(0, 1), converter.convert(from.substring(0, 1)));
+      for (int length : lengths) {
+        String number = randomNumber(random, from, length);
+        assertEquals(write(read(number, from), to), converter.convert(number),
+          pair[0] + " to " + pair[1] + ": " + number);
+      }
+    }
+  }
+  
+  // Streams
+  @Test
+  void test_ConvertingStreams_MatchesConvertingStrings() throws IOException {
+    Random random = new Random(25);
+    String[][] pairs = { { DECIMAL, DECIMAL }, { DECIMAL, "9876543210" }, { BINARY, HEXADECIMAL },
+        { HEXADECIMAL, BINARY }, { "01234567", HEXADECIMAL }, { HEXADECIMAL, "01234567" },
+        { DECIMAL, BINARY }, { BASE_36, DECIMAL } };
+    for (String[] pair : pairs) {
+      AlienNumberConverter converter = new AlienNumberConverter(pair[0], pair[1]);
+      for (int length : new int[] { 1, 2, 3, 5, 17, 20_000 }) {
+        String leadingZeroes = repeat(pair[0].charAt(0), length % 3);
+        String number = leadingZeroes + randomNumber(random, pair[0], length);
+        String expected = converter.convert(number);
+        
+        StringWriter writer = new StringWriter();
+        converter.convert(new StringReader(number), writer);
+        CharBuffer buffer = CharBuffer.allocate(expected.length());
+        converter.convert(CharBuffer.wrap(number), buffer);
+        ((Buffer) buffer).flip();
+        
+        String message = pair[0] + " to " + pair[1] + ": " + number;
+        assertAll(() -> assertEquals(expected, writer.toString(), message),
+                  () -> assertEquals(expected, buffer.toString(), message));
+      }
+    }
+  }
+  
+  @Test
+  void test_ConvertingStreamsOfKnownLength_MatchesConvertingStrings() throws IOException {
+    Random random = new Random(26);
+    String[][] pairs = { { BINARY, HEXADECIMAL }, { "01234567", HEXADECIMAL },
+        { "0123", "01234567" }, { HEXADECIMAL, BINARY }, { DECIMAL, BINARY } };
+    for (String[] pair : pairs) {
+      AlienNumberConverter converter = new AlienNumberConverter(pair[0], pair[1]);
+      for (int length : new int[] { 1, 2, 3, 5, 17, 20_000 }) {
+        String number = repeat(pair[0].charAt(0), length % 3)
+                        + randomNumber(random, pair[0], length);
+        StringWriter writer = new StringWriter();
+        converter.convert(new StringReader(number), number.length(), writer);
+        assertEquals(converter.convert(number), writer.toString(),
+          pair[0] + " to " + pair[1] + ": " + number);
+      }
+    }
+    AlienNumberConverter binaryToHex = new AlienNumberConverter(BINARY, HEXADECIMAL);
+    assertAll(() -> assertThrows(IllegalArgumentException.class,
+                                 () -> binaryToHex.convert(new StringReader("101"), 4,
+                                                           new StringWriter())),
+              () -> assertThrows(IllegalArgumentException.class,
+                                 () -> binaryToHex.convert(new StringReader("101"), -1,
+                                                           new StringWriter())));
+  }
+  
+  @Test
+  void test_ConvertingStreamOfZeroes_WritesTheZeroFromTheOtherLanguage() throws IOException {
+    StringWriter sameLength = new StringWriter();
+    new AlienNumberConverter(DECIMAL, "9876543210").convert(new StringReader("000"), sameLength);
+    StringWriter relatedLength = new StringWriter();
+    new AlienNumberConverter(HEXADECIMAL, "ab").convert(new StringReader("00"), relatedLength);
+    assertAll(() -> assertEquals("9", sameLength.toString()),
+              () -> assertEquals("a", relatedLength.toString()));
+  }
+  
+  @Test
+  void test_ConvertingStreamWithInputNotInFromLanguage_ThrowsException() {
+    AlienNumberConverter sameLength = new AlienNumberConverter(DECIMAL, "9876543210");
+    AlienNumberConverter relatedLength = new AlienNumberConverter(HEXADECIMAL, BINARY);
+    AlienNumberConverter differentLength = new AlienNumberConverter(DECIMAL, BINARY);
+    assertAll(() -> assertThrows(NoLetterInAlienNumeralSystemException.class,
+                                 () -> sameLength.convert(new StringReader("12a"),
+                                                          new StringWriter())),
+              () -> assertThrows(NoLetterInAlienNumeralSystemException.class,
+                                 () -> relatedLength.convert(new StringReader("1g"),
+                                                             new StringWriter())),
+              () -> assertThrows(NoLetterInAlienNumeralSystemException.class,
+                                 () -> differentLength.convert(new StringReader("1a"),
+                                                               new StringWriter())),
+              () -> assertThrows(IllegalArgumentException.class,
+                                 () -> sameLength.convert(new StringReader(""),
+                                                          new StringWriter())));
+  }
+  
+  @Test
+  void test_ConvertingGeneratedStream_WritesEveryLetter() throws IOException {
+    // A one followed by millions of zeroes, generated as it is read and counted as it is written.
+    long length = 1L << 22;
+    Readable number = new Readable() {
+      private long letters;
+      
+      @Override
+      public int read(CharBuffer buffer) {
+        if (letters == length) {
+          return -1;
+        }
+        int count = (int) Math.min(buffer.remaining(), length - letters);
+        for (int i = 0; i < count; i++) {
+          buffer.put(letters++ == 0 ? 'f' : '0');
+        }
+        return count;
+      }
+    };
+    long[] letterCounts = new long[2];
+    Appendable counter = new Appendable() {
+      
+      @Override
+      public Appendable append(CharSequence letters) {
+        for (int i = 0; i < letters.length(); i++) {
+          append(letters.charAt(i));
+        }
+        return this;
+      }
+      
+      @Override
+      public Appendable append(CharSequence letters, int start, int end) {
+        return append(letters.subSequence(start, end));
+      }
+      
+      @Override
+      public Appendable append(char letter) {
+        letterCounts[letter - '0']++;
+        return this;
+      }
+    };
+    new AlienNumberConverter(HEXADECIMAL, BINARY).convert(number, counter);
+    assertAll(() -> assertEquals(4, letterCounts[1]),
+              () -> assertEquals(4 * (length - 1), letterCounts[0]));
+  }
+  
+  private static BigInteger read(String number, String language) {
+    BigInteger base = BigInteger.valueOf(language.length());
+    BigInteger value = BigInteger.ZERO;
+    for (int i = 0; i < number.length(); i++) {
+      value = value.multiply(base).add(BigInteger.valueOf(language.indexOf(number.charAt(i))));
+    }
+    return value;
+  }
+  
+  private static String write(BigInteger value, String language) {
+    BigInteger base = BigInteger.valueOf(language.length());
+    StringBuilder number = new StringBuilder();
+    do {
+      BigInteger[] halves = value.divideAndRemainder(base);
+      number.append(language.charAt(halves[1].intValue()));
+      value = halves[0];
+    } while (value.signum() != 0);
+    return number.reverse().toString();
+  }
+  
+  private static String repeat(char letter, int count) {
+    StringBuilder repeated = new StringBuilder(count);
+    while (repeated.length() < count) {
+      repeated.append(letter);
+    }
+    return repeated.toString();
+  }
+}
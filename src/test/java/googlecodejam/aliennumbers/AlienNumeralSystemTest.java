@@ -154,4 +154,39 @@ class AlienNumeralSystemTest {
       () -> new AlienNumeralSystem("helo").getValue('x'));
   }
   
+  @Test
+  void test_GetValue_OnCharactersOutsideAllowedSymbols_ThrowsException() {
+    AlienNumeralSystem language = new AlienNumeralSystem(MAX_NUMBER_OF_SYMBOLS_STRING);
+    assertAll(
+      () -> assertThrows(NoLetterInAlienNumeralSystemException.class,
+        () -> language.getValue(' ')),
+      () -> assertThrows(NoLetterInAlienNumeralSystemException.class,
+        () -> language.getValue('\u007F')),
+      () -> assertThrows(NoLetterInAlienNumeralSystemException.class,
+        () -> language.getValue('\u00E9'))
+    );
+  }
+  
+  @Test
+  void test_GetValueAndGetLetter_AreInversesForEveryLetter() {
+    String reversed = new StringBuilder(MAX_NUMBER_OF_SYMBOLS_STRING).reverse().toString();
+    AlienNumeralSystem language = new AlienNumeralSystem(reversed);
+    assertAll(
+      IntStream.range(0, reversed.length()).mapToObj(value -> () -> {
+        assertEquals(reversed.charAt(value), language.getLetter(value));
+        assertEquals(value, language.getValue(reversed.charAt(value)));
+      })
+    );
+  }
+  
+  @Test
+  void test_GetLetter_OutsideBase_ThrowsException() {
+    AlienNumeralSystem binary = new AlienNumeralSystem("01");
+    assertAll(
+      () -> assertThrows(AlienNumeralSystemIndexOutOfBoundsException.class,
+        () -> binary.getLetter(-1)),
+      () -> assertThrows(AlienNumeralSystemIndexOutOfBoundsException.class,
+        () -> binary.getLetter(2))
+    );
+  }
 }
\ No newline at end of file
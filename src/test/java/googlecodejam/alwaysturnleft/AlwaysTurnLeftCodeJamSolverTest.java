@@ -0,0 +1,76 @@
+package googlecodejam.alwaysturnleft;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import googlecodejam.MemoryOutputSink;
+import googlecodejam.SolverOptions;
+
+class AlwaysTurnLeftCodeJamSolverTest {
+  
+  private static final String NEW_LINE = System.lineSeparator();
+  private static final String SAMPLE_INPUT = "2\n"
+                                             + "WRWWLWWLWWLWLWRRWRWWWRWWRWLW WWRRWLWLWWLWWLWWRWWRWWLW\n"
+                                             + "WW WW\n";
+  private static final String SAMPLE_OUTPUT = "Case #1:" + NEW_LINE
+                                              + "ac5" + NEW_LINE
+                                              + "386" + NEW_LINE
+                                              + "9c7" + NEW_LINE
+                                              + "e43" + NEW_LINE
+                                              + "9c5" + NEW_LINE
+                                              + NEW_LINE
+                                              + "Case #2:" + NEW_LINE
+                                              + "3" + NEW_LINE
+                                              + NEW_LINE;
+  
+  @TempDir
+  Path directory;
+  
+  private String run(MazeConstructorStrategy strategy, SolverOptions.Builder options)
+      throws IOException {
+    Path input = directory.resolve("maze.in");
+    Files.write(input, SAMPLE_INPUT.getBytes(StandardCharsets.US_ASCII));
+    MemoryOutputSink out = new MemoryOutputSink();
+    new AlwaysTurnLeftCodeJamSolver(strategy).go(options.mappedFile(input).output(out).build());
+    return out.getContents();
+  }
+  
+  @Test
+  void test_StreamedSample_MatchesExpectedOutput() {
+    assertAll(
+      () -> assertEquals(SAMPLE_OUTPUT,
+        run(new MazeWithoutWallsConstructorStrategy(), SolverOptions.builder())),
+      () -> assertEquals(SAMPLE_OUTPUT,
+        run(new MazeWithWallsConstructorStrategy(), SolverOptions.builder()))
+    );
+  }
+  
+  @Test
+  void test_StreamedSampleInParallel_MatchesExpectedOutput() throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertEquals(SAMPLE_OUTPUT, run(new MazeWithWallsConstructorStrategy(),
+        SolverOptions.builder().parallel(executor).solveWorkers(2)));
+    } finally {
+      executor.shutdown();
+    }
+  }
+  
+  @Test
+  void test_StringSolve_MatchesStreamedAnswer() throws IOException {
+    AlwaysTurnLeftCodeJamSolver solver =
+                                       new AlwaysTurnLeftCodeJamSolver(new MazeWithoutWallsConstructorStrategy());
+    assertEquals("3" + NEW_LINE, solver.solve(new Scanner("WW WW")));
+  }
+}
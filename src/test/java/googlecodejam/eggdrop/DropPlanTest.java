@@ -0,0 +1,102 @@
+package googlecodejam.eggdrop;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DropPlanTest {
+  
+  private static final int MAX_DROPS_PLANNED = 12;
+  private static final int MAX_BREAKS_PLANNED = 4;
+  
+  private final EggDropCodeJamSolver solver = new EggDropCodeJamSolver();
+  
+  private static void follow(DropPlan plan, long highestSafeFloor) {
+    while (!plan.isComplete()) {
+      long floor = plan.nextFloor();
+      assertTrue(floor > 0);
+      plan.record(floor > highestSafeFloor);
+      assertTrue(plan.getDropsLeft() >= 0 && plan.getBreaksLeft() >= 0);
+    }
+    assertEquals(highestSafeFloor, plan.result());
+  }
+  
+  @Test
+  void test_Plan_EveryThreshold_FindsItWithinBudget() {
+    for (int drops = 0; drops <= MAX_DROPS_PLANNED; drops++) {
+      for (int breaks = 0; breaks <= MAX_BREAKS_PLANNED; breaks++) {
+        long floors = solver.solveForF(drops, breaks);
+        for (long safe = 0; safe <= floors; safe++) {
+          follow(solver.planDrops(floors, drops, breaks), safe);
+        }
+      }
+    }
+  }
+  
+  @Test
+  void test_Plan_BillionsOfFloors_FindsRandomThresholds() {
+    Random random = new Random(18);
+    int floors = 2_000_000_000;
+    int breaks = 32;
+    int drops = solver.solveForD(floors, Integer.MAX_VALUE, breaks);
+    for (int i = 0; i < 1_000; i++) {
+      long safe = (long) (random.nextDouble() * (floors + 1));
+      follow(solver.planDrops(floors, drops, breaks), safe);
+    }
+  }
+  
+  @Test
+  void test_Plan_NoFloors_IsComplete() {
+    DropPlan plan = solver.planDrops(0, 0, 0);
+    assertAll(
+      () -> assertTrue(plan.isComplete()),
+      () -> assertEquals(0, plan.result()),
+      () -> assertThrows(IllegalStateException.class, plan::nextFloor),
+      () -> assertThrows(IllegalStateException.class, () -> plan.record(false))
+    );
+  }
+  
+  @Test
+  void test_Plan_Incomplete_ResultThrowsIllegalStateException() {
+    DropPlan plan = solver.planDrops(10, 4, 2);
+    assertAll(
+      () -> assertFalse(plan.isComplete()),
+      () -> assertEquals(plan.nextFloor(), plan.nextFloor()),
+      () -> assertThrows(IllegalStateException.class, plan::result)
+    );
+  }
+  
+  @Test
+  void test_Plan_NotSolvable_ThrowsIllegalArgumentException() {
+    assertAll(
+      () -> assertThrows(IllegalArgumentException.class, () -> solver.planDrops(11, 4, 2)),
+      () -> assertThrows(IllegalArgumentException.class, () -> solver.planDrops(-1, 4, 2)),
+      () -> assertThrows(IllegalArgumentException.class, () -> solver.planDrops(1, -1, 2))
+    );
+  }
+  
+  @Test
+  void test_Plan_FloorsAboveMaxF_NotSolvable_ThrowsIllegalArgumentException() {
+    long floors = solver.solveForFExact(100_000, 2).longValueExact();
+    assertAll(
+      () -> assertThrows(IllegalArgumentException.class,
+                         () -> solver.planDrops(1_000_000_000_000L, 100_000, 2)),
+      () -> assertThrows(IllegalArgumentException.class,
+                         () -> solver.planDrops(floors + 1, 100_000, 2))
+    );
+  }
+  
+  @Test
+  void test_Plan_FloorsAboveMaxF_Solvable_FindsThresholds() {
+    long floors = solver.solveForFExact(100_000, 2).longValueExact();
+    for (long safe : new long[] {0, 1, floors / 3, floors - 1, floors}) {
+      follow(solver.planDrops(floors, 100_000, 2), safe);
+    }
+  }
+}
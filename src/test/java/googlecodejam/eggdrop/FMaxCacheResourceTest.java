@@ -0,0 +1,56 @@
+package googlecodejam.eggdrop;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class FMaxCacheResourceTest {
+  
+  private static final int MIN_B = CachedFMaxStrategy.MIN_B_VALUE;
+  private static final int MAX_B = CachedFMaxStrategy.MAX_B_VALUE;
+  private static final long MAX_F = EggDropCodeJamSolver.MAX_F_VALUE;
+  
+  private static byte[] write(long[][] cache) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    FMaxCacheResource.write(cache, MIN_B, MAX_F, out);
+    return out.toByteArray();
+  }
+  
+  @Test
+  void test_Load_MatchesComputedCache() throws IOException {
+    assertArrayEquals(CachedFMaxStrategy.initializeCache(), FMaxCacheResource.load(MIN_B, MAX_B,
+      MAX_F));
+  }
+  
+  @Test
+  void test_Read_WrittenCache_RoundTrips() throws IOException {
+    long[][] cache = CachedFMaxStrategy.initializeCache();
+    assertArrayEquals(cache, FMaxCacheResource.read(write(cache), MIN_B, MAX_B, MAX_F));
+  }
+  
+  @Test
+  void test_Read_CorruptOrStale_ThrowsIOException() throws IOException {
+    byte[] bytes = write(CachedFMaxStrategy.initializeCache());
+    byte[] corrupt = bytes.clone();
+    corrupt[corrupt.length / 2] ^= 1;
+    assertAll(
+      () -> assertThrows(IOException.class,
+        () -> FMaxCacheResource.read(corrupt, MIN_B, MAX_B, MAX_F)),
+      () -> assertThrows(IOException.class,
+        () -> FMaxCacheResource.read(Arrays.copyOf(bytes, bytes.length - 1), MIN_B, MAX_B,
+          MAX_F)),
+      () -> assertThrows(IOException.class,
+        () -> FMaxCacheResource.read(new byte[0], MIN_B, MAX_B, MAX_F)),
+      () -> assertThrows(IOException.class,
+        () -> FMaxCacheResource.read(bytes, MIN_B, MAX_B, MAX_F - 1)),
+      () -> assertThrows(IOException.class,
+        () -> FMaxCacheResource.read(bytes, MIN_B, MAX_B + 1, MAX_F))
+    );
+  }
+}
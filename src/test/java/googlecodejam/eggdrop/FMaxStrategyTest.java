@@ -0,0 +1,162 @@
+package googlecodejam.eggdrop;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class FMaxStrategyTest {
+  
+  private static final int MAX_DROPS_COMPARED = 100_000;
+  private static final int MAX_BREAKS_COMPARED = 40;
+  
+  private final FMaxStrategy cached = new CachedFMaxStrategy();
+  private final FMaxStrategy binomial = new BinomialFMaxStrategy();
+  
+  @Test
+  void test_Binomial_MatchesCached() {
+    for (int drops = 0; drops <= MAX_DROPS_COMPARED; drops++) {
+      for (int breaks = 0; breaks <= MAX_BREAKS_COMPARED; breaks++) {
+        assertEquals(cached.fMax(drops, breaks), binomial.fMax(drops, breaks));
+      }
+    }
+  }
+  
+  @Test
+  void test_Binomial_LargeDataset_MatchesCached() {
+    int[] values = { 1, 2, 3, 32, 33, 92_682, 92_683, 1_000_000, 2_000_000_000 };
+    for (int drops : values) {
+      for (int breaks : values) {
+        assertEquals(cached.fMax(drops, breaks), binomial.fMax(drops, breaks));
+      }
+    }
+  }
+  
+  @Test
+  void test_CachedMinDrops_MatchesBinarySearch() {
+    int[] floors = { 0, 1, 2, 3, 7, 25, 100, 2_954, 92_682, 1_000_000, 2_000_000_000,
+        Integer.MAX_VALUE };
+    for (int f : floors) {
+      for (int breaks = 0; breaks <= MAX_BREAKS_COMPARED; breaks++) {
+        assertEquals(binomial.minDrops(f, breaks), cached.minDrops(f, breaks));
+      }
+    }
+  }
+  
+  @Test
+  void test_CachedMinDrops_ConsecutiveFloors_MatchesBinarySearch() {
+    for (int f = 0; f <= 10_000; f++) {
+      for (int breaks = 2; breaks <= 4; breaks++) {
+        assertEquals(binomial.minDrops(f, breaks), cached.minDrops(f, breaks));
+      }
+    }
+  }
+  
+  @Test
+  void test_Cached_ConcurrentFirstUse_MatchesBinomial() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CompletableFuture<Void> prewarm = CachedFMaxStrategy.prewarm(executor);
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int thread = 0; thread < 8; thread++) {
+        int breaks = 3 + thread;
+        results.add(executor.submit(() -> IntStream.rangeClosed(0, 3_000).allMatch(
+          drops -> new CachedFMaxStrategy().fMax(drops, breaks) == binomial.fMax(drops, breaks))));
+      }
+      prewarm.get(1, TimeUnit.MINUTES);
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get(1, TimeUnit.MINUTES));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+  
+  @Test
+  void test_ParallelCache_MatchesSequentialCache() {
+    long[] maximums = { Integer.MAX_VALUE, EggDropCodeJamSolver.MAX_F_VALUE, 1L << 40,
+        Long.MAX_VALUE };
+    for (int parallelism : new int[] { 1, 2, 3, 8 }) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        for (long maximum : maximums) {
+          assertArrayEquals(CachedFMaxStrategy.initializeCache(maximum),
+            CachedFMaxStrategy.initializeCache(maximum, pool), maximum + ": " + parallelism);
+        }
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+  
+  @Test
+  void test_Binomial_Samples() {
+    EggDropCodeJamSolver solver = new EggDropCodeJamSolver(binomial);
+    assertAll(
+      () -> assertEquals(7, solver.solveForF(3, 3)),
+      () -> assertEquals(2, solver.solveForD(3, 3, 3)),
+      () -> assertEquals(1, solver.solveForB(3, 3, 3)),
+      () -> assertEquals(25, solver.solveForF(5, 3)),
+      () -> assertEquals(3, solver.solveForD(7, 5, 3)),
+      () -> assertEquals(2, solver.solveForB(7, 5, 3))
+    );
+  }
+  
+  @Test
+  void test_LargerMaximum_MatchesExactValues() {
+    long[] maximums = { Integer.MAX_VALUE, 0x2_0000_0000L - 2, 1L << 40, Long.MAX_VALUE };
+    int[] drops = { 0, 1, 2, 3, 31, 32, 33, 34, 62, 63, 64, 100, 1_000, 2_954, 92_682, 3_810_778,
+        3_810_779, 2_000_000_000 };
+    for (long maximum : maximums) {
+      FMaxStrategy[] strategies = { new CachedFMaxStrategy(maximum),
+          new BinomialFMaxStrategy(maximum) };
+      BigInteger limit = BigInteger.valueOf(maximum);
+      for (int d : drops) {
+        for (int breaks = 0; breaks <= 70; breaks++) {
+          BigInteger exact = BinomialFMaxStrategy.exactFMax(d, Math.min(breaks, 70));
+          long expected = exact.compareTo(limit) > 0 ? EggDropCodeJamSolver.LARGER_THAN_MAX_F_VALUE
+                                                     : exact.longValueExact();
+          for (FMaxStrategy strategy : strategies) {
+            assertEquals(expected, strategy.fMax(d, breaks), maximum + ": " + d + ", " + breaks);
+          }
+        }
+      }
+    }
+  }
+  
+  @Test
+  void test_ExactFMax_MatchesDefaultBelowMaximum() {
+    assertAll(
+      () -> assertEquals(BigInteger.valueOf(7), BinomialFMaxStrategy.exactFMax(3, 3)),
+      () -> assertEquals(BigInteger.valueOf(25), BinomialFMaxStrategy.exactFMax(5, 3)),
+      () -> assertEquals(BigInteger.ONE.shiftLeft(100).subtract(BigInteger.ONE),
+        BinomialFMaxStrategy.exactFMax(100, 100)),
+      () -> assertEquals(BigInteger.valueOf(2_000_000_000), BinomialFMaxStrategy.exactFMax(
+        2_000_000_000, 1))
+    );
+  }
+  
+  @Test
+  void test_MaximumBelowFloors_ThrowsIllegalArgumentException() {
+    assertAll(
+      () -> assertThrows(IllegalArgumentException.class,
+        () -> new CachedFMaxStrategy(Integer.MAX_VALUE - 1L)),
+      () -> assertThrows(IllegalArgumentException.class,
+        () -> new BinomialFMaxStrategy(Integer.MAX_VALUE - 1L))
+    );
+  }
+}
@@ -2,12 +2,26 @@ package googlecodejam.eggdrop;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import googlecodejam.MemoryOutputSink;
+import googlecodejam.OutputSink;
+import googlecodejam.SolverOptions;
+
 class SolvableTests {
   
   private EggDropCodeJamSolver solver;
@@ -78,4 +92,188 @@ class SolvableTests {
     }
   }
   
-}
\ No newline at end of file
+  
+  private int linearSolveForD(int floors, int maxDrops, int breaks) {
+    for (int drops = 0; drops < maxDrops; drops++) {
+      long maxF = solver.solveForF(drops, breaks);
+      if (maxF == EggDropCodeJamSolver.LARGER_THAN_MAX_F_VALUE || maxF >= floors) {
+        return drops;
+      }
+    }
+    return maxDrops;
+  }
+  
+  private int linearSolveForB(int floors, int drops, int maxBreaks) {
+    for (int breaks = 0; breaks < maxBreaks; breaks++) {
+      long maxF = solver.solveForF(drops, breaks);
+      if (maxF == EggDropCodeJamSolver.LARGER_THAN_MAX_F_VALUE || maxF >= floors) {
+        return breaks;
+      }
+    }
+    return maxBreaks;
+  }
+  
+  @Test
+  void test_SolveForDAndB_SmallDataset_MatchLinearScan() {
+    for (int floors = 1; floors <= 100; floors++) {
+      for (int limit = 1; limit <= 100; limit++) {
+        for (int value = 1; value <= 100; value++) {
+          assertEquals(linearSolveForD(floors, limit, value), solver.solveForD(floors, limit,
+            value));
+          assertEquals(linearSolveForB(floors, value, limit), solver.solveForB(floors, value,
+            limit));
+        }
+      }
+    }
+  }
+  
+  @Test
+  void test_SolveForDAndB_LargeDataset_MatchLinearScan() {
+    int[] floors = { 1, 2_954, 92_682, 1_000_000, Integer.MAX_VALUE / 2, 2_000_000_000 };
+    int[] breaks = { 2, 3, 4, 16, 32, 33, 2_000_000_000 };
+    for (int f : floors) {
+      for (int b : breaks) {
+        int dMin = solver.solveForD(f, 2_000_000_000, b);
+        assertEquals(linearSolveForD(f, 2_000_000_000, b), dMin);
+        assertEquals(linearSolveForB(f, dMin, 2_000_000_000), solver.solveForB(f, dMin,
+          2_000_000_000));
+      }
+    }
+  }
+  
+  @Test
+  void test_SolveForD_OneBreak_ReturnsFloors() {
+    assertAll(
+      () -> assertEquals(2_000_000_000, solver.solveForD(2_000_000_000, 2_000_000_000, 1)),
+      () -> assertEquals(1_999_999_999, solver.solveForD(1_999_999_999, 2_000_000_000, 1)),
+      () -> assertEquals(1, solver.solveForD(1, 2_000_000_000, 1))
+    );
+  }
+  
+  @Test
+  void test_SolveAll_MatchesSingleQueries() {
+    Random random = new Random(16);
+    int length = 10_000;
+    int[] floors = new int[length];
+    int[] drops = new int[length];
+    int[] breaks = new int[length];
+    for (int i = 0; i < length; i++) {
+      int limit = i % 2 == 0 ? 100 : 2_000_000_000;
+      floors[i] = 1 + random.nextInt(limit);
+      breaks[i] = 1 + random.nextInt(i % 3 == 0 ? 4 : limit);
+      drops[i] = Math.max(solver.solveForD(floors[i], limit, breaks[i]), 1 + random.nextInt(limit));
+    }
+    for (boolean parallel : new boolean[] { false, true }) {
+      long[] fMax = new long[length];
+      int[] dMin = new int[length];
+      int[] bMin = new int[length];
+      solver.solveAll(floors, drops, breaks, fMax, dMin, bMin, parallel);
+      for (int i = 0; i < length; i++) {
+        assertEquals(solver.solveForF(drops[i], breaks[i]), fMax[i]);
+        assertEquals(solver.solveForD(floors[i], drops[i], breaks[i]), dMin[i]);
+        assertEquals(solver.solveForB(floors[i], drops[i], breaks[i]), bMin[i]);
+      }
+    }
+  }
+  
+  @Test
+  void test_SolveAll_MismatchedLengths_ThrowsIllegalArgumentException() {
+    int[] one = new int[1];
+    assertThrows(IllegalArgumentException.class,
+      () -> solver.solveAll(one, one, new int[2], new long[1], one, one));
+  }
+  
+  private String run(String input, SolverOptions.Builder options) throws IOException {
+    MemoryOutputSink out = new MemoryOutputSink();
+    solver.go(options.input(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)))
+                     .output(out)
+                     .build());
+    return out.getContents();
+  }
+  
+  @Test
+  void test_Bulk_SeveralBlocks_MatchesEachCaseSolvedAlone() throws IOException {
+    Random random = new Random(20);
+    int length = 150_000;
+    StringBuilder input = new StringBuilder().append(length).append('\n');
+    for (int i = 0; i < length; i++) {
+      int limit = i % 2 == 0 ? 100 : 2_000_000_000;
+      int floors = 1 + random.nextInt(limit);
+      int breaks = 1 + random.nextInt(i % 3 == 0 ? 4 : limit);
+      int drops = Math.max(solver.solveForD(floors, limit, breaks), 1 + random.nextInt(limit));
+      input.append(floors).append(' ').append(drops).append(' ').append(breaks).append('\n');
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertEquals(run(input.toString(), SolverOptions.builder().parallel(executor)),
+        run(input.toString(), SolverOptions.builder()));
+    } finally {
+      executor.shutdown();
+    }
+  }
+  
+  @Test
+  void test_Bulk_TruncatedInput_AnswersEarlierCasesThenThrows() throws IOException {
+    String input = "3\n3 3 3\n7 5 3\n100 1";
+    MemoryOutputSink out = new MemoryOutputSink();
+    assertThrows(NoSuchElementException.class, () -> runTo(input, out));
+    NoSuchElementException failure = assertThrows(NoSuchElementException.class,
+      () -> runTo(input, new FailingOutputSink()));
+    assertAll(
+      () -> assertEquals(run("2\n3 3 3\n7 5 3\n", SolverOptions.builder()), out.getContents()),
+      () -> assertEquals(1, failure.getSuppressed().length),
+      () -> assertTrue(failure.getSuppressed()[0] instanceof IOException)
+    );
+  }
+  
+  private void runTo(String input, OutputSink out) throws IOException {
+    solver.go(SolverOptions.builder()
+                           .input(new ByteArrayInputStream(input.getBytes(
+                             StandardCharsets.US_ASCII)))
+                           .output(out)
+                           .build());
+  }
+  
+  /**
+   * Fails every write.
+   */
+  private static class FailingOutputSink implements OutputSink {
+    
+    @Override
+    public OutputSink append(CharSequence csq) throws IOException {
+      throw new IOException("Sink failed");
+    }
+    
+    @Override
+    public OutputSink append(CharSequence csq, int start, int end) throws IOException {
+      throw new IOException("Sink failed");
+    }
+    
+    @Override
+    public OutputSink append(char c) throws IOException {
+      throw new IOException("Sink failed");
+    }
+    
+    @Override
+    public void flush() {
+    }
+    
+    @Override
+    public void close() {
+    }
+  }
+  
+  @Test
+  void test_WriteDecimal_MatchesToString() {
+    long[] values = { 0, 1, -1, 9, 10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE,
+        EggDropCodeJamSolver.MAX_F_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+    byte[] bytes = new byte[24];
+    assertAll(
+      Arrays.stream(values).mapToObj(value -> () -> {
+        int end = EggDropCodeJamSolver.writeDecimal(bytes, 2, value);
+        assertEquals(Long.toString(value), new String(bytes, 2, end - 2,
+          StandardCharsets.US_ASCII));
+      })
+    );
+  }
+}
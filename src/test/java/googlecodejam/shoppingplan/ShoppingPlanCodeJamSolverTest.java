@@ -0,0 +1,91 @@
+package googlecodejam.shoppingplan;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+import googlecodejam.MemoryOutputSink;
+import googlecodejam.SolverOptions;
+
+class ShoppingPlanCodeJamSolverTest {
+  
+  private static final int NUM_CASES = 100;
+  private static final String NEW_LINE = System.lineSeparator();
+  
+  /**
+   * Answers each test case with its first and last lines, so that the lines read for each case can
+   * be checked. Sleeps a little so that parallel cases finish out of order.
+   */
+  private static class EchoingSolver extends ShoppingPlanCodeJamSolver {
+    
+    @Override
+    protected String solve(Scanner in) {
+      String firstLine = in.nextLine();
+      String lastLine = firstLine;
+      for (int line = 1; line < linesInTestCase(firstLine); line++) {
+        lastLine = in.nextLine();
+      }
+      try {
+        Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return firstLine.trim() + " / " + lastLine.trim();
+    }
+  }
+  
+  private static String run(String input, SolverOptions.Builder options) throws IOException {
+    MemoryOutputSink out = new MemoryOutputSink();
+    new EchoingSolver().go(options.input(new ByteArrayInputStream(input.getBytes(
+      StandardCharsets.US_ASCII))).output(out).build());
+    return out.getContents();
+  }
+  
+  @Test
+  void test_LinesInTestCase_IrregularWhitespace_CountsStores() {
+    ShoppingPlanCodeJamSolver solver = new ShoppingPlanCodeJamSolver();
+    assertAll(
+      () -> assertEquals(4, solver.linesInTestCase("1 2 10")),
+      () -> assertEquals(5, solver.linesInTestCase("  3   3 5")),
+      () -> assertEquals(6, solver.linesInTestCase("3\t4\t5 "))
+    );
+  }
+  
+  @Test
+  void test_Parallel_MultiLineCases_WritesCasesInOrder() throws IOException {
+    StringBuilder input = new StringBuilder().append(NUM_CASES).append('\n');
+    StringBuilder expected = new StringBuilder();
+    for (int i = 1; i <= NUM_CASES; i++) {
+      int stores = 1 + i % 4;
+      String firstLine = i % 3 == 0 ? "  1\t" + stores + "  " + i : "1 " + stores + " " + i;
+      input.append(firstLine).append('\n').append("cookies\n");
+      for (int store = 1; store <= stores; store++) {
+        input.append(store).append(' ').append(i).append(" cookies:").append(store).append('\n');
+      }
+      expected.append("Case #").append(i).append(": ").append(firstLine.trim()).append(" / ")
+              .append(stores).append(' ').append(i).append(" cookies:").append(stores)
+              .append(NEW_LINE);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      String sequential = run(input.toString(), SolverOptions.builder());
+      String parallel = run(input.toString(),
+        SolverOptions.builder().parallel(executor).maxPendingCases(5));
+      assertAll(
+        () -> assertEquals(expected.toString(), sequential),
+        () -> assertEquals(sequential, parallel)
+      );
+    } finally {
+      executor.shutdown();
+    }
+  }
+}